@@ -0,0 +1,116 @@
+package org.backend.developer.assignment.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The requests {@link ProductLoadTest} sends, how often relative to each other, and the latencies they must stay
+ * within. Reads dominate and concentrate on a hot set of products, as in production traffic.
+ */
+enum LoadScenario {
+
+	GET_PRODUCT(60, 200, new LatencySlo(5, 25, 100)) {
+		@Override
+		HttpRequest request(Target target, SplittableRandom random) {
+			return get(target.products().resolve("products/" + target.hotId(random)));
+		}
+	},
+	LIST_PRODUCTS(15, 200, new LatencySlo(15, 60, 200)) {
+		@Override
+		HttpRequest request(Target target, SplittableRandom random) {
+			return get(target.products().resolve("products?limit=100&after=" + target.anyId(random)));
+		}
+	},
+	SEARCH_PRODUCTS(10, 200, new LatencySlo(15, 80, 250)) {
+		@Override
+		HttpRequest request(Target target, SplittableRandom random) {
+			return get(target.products().resolve("products/search?limit=20&q=" + random.nextInt(target.ids().size())));
+		}
+	},
+	UPDATE_PRODUCT(10, 200, new LatencySlo(10, 50, 200)) {
+		@Override
+		HttpRequest request(Target target, SplittableRandom random) {
+			return HttpRequest.newBuilder(target.products().resolve("products/" + target.anyId(random)))
+					.header("Content-Type", "application/json")
+					.PUT(body(random.nextInt(target.ids().size())))
+					.timeout(TIMEOUT)
+					.build();
+		}
+	},
+	CREATE_PRODUCT(5, 201, new LatencySlo(10, 50, 200)) {
+		@Override
+		HttpRequest request(Target target, SplittableRandom random) {
+			return HttpRequest.newBuilder(target.products().resolve("products"))
+					.header("Content-Type", "application/json")
+					.POST(body(target.ids().size() + random.nextInt(target.ids().size())))
+					.timeout(TIMEOUT)
+					.build();
+		}
+	};
+
+	static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+	private static final int HOT_PRODUCTS = 1_000;
+	private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(scenario -> scenario.weight).sum();
+
+	final int weight;
+	final int expectedStatus;
+	final LatencySlo slo;
+
+	LoadScenario(int weight, int expectedStatus, LatencySlo slo) {
+		this.weight = weight;
+		this.expectedStatus = expectedStatus;
+		this.slo = slo;
+	}
+
+	abstract HttpRequest request(Target target, SplittableRandom random);
+
+	/**
+	 * Picks scenarios in proportion to their weights.
+	 */
+	static LoadScenario pick(SplittableRandom random) {
+		var remaining = random.nextInt(TOTAL_WEIGHT);
+		for (final var scenario : values()) {
+			remaining -= scenario.weight;
+			if (remaining < 0) {
+				return scenario;
+			}
+		}
+		throw new IllegalStateException();
+	}
+
+	private static HttpRequest get(URI uri) {
+		return HttpRequest.newBuilder(uri).header("Accept", "application/json").timeout(TIMEOUT).build();
+	}
+
+	private static HttpRequest.BodyPublisher body(int i) {
+		final var request = ProductFixtures.request(i);
+		return HttpRequest.BodyPublishers.ofString("{\"name\":\"%s\",\"description\":\"%s\",\"price\":%s}"
+				.formatted(request.name(), request.description(), request.price()));
+	}
+
+	/**
+	 * Upper bounds in milliseconds of the 50th, 99th and 99.9th latency percentiles.
+	 */
+	record LatencySlo(long p50, long p99, long p999) {
+	}
+
+	/**
+	 * @param products base URI of the application, ending with {@code /}
+	 * @param ids      ids of the seeded products
+	 */
+	record Target(URI products, List<Long> ids) {
+
+		long hotId(SplittableRandom random) {
+			return ids.get(random.nextInt(Math.min(HOT_PRODUCTS, ids.size())));
+		}
+
+		long anyId(SplittableRandom random) {
+			return ids.get(random.nextInt(ids.size()));
+		}
+	}
+}
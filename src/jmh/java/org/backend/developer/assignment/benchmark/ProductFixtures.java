@@ -0,0 +1,63 @@
+package org.backend.developer.assignment.benchmark;
+
+import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.model.Product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic product data shared by the benchmarks.
+ */
+final class ProductFixtures {
+
+	private ProductFixtures() {
+	}
+
+	static List<Product> products(int size) {
+		final var products = new ArrayList<Product>(size);
+		for (int i = 1; i <= size; i++) {
+			products.add(Product.builder()
+					.id(i)
+					.name(name(i))
+					.description(description(i))
+					.price(price(i))
+					.build());
+		}
+		return products;
+	}
+
+	static List<ProductResponse> responses(int size) {
+		final var responses = new ArrayList<ProductResponse>(size);
+		for (int i = 1; i <= size; i++) {
+			responses.add(new ProductResponse(i, name(i), description(i), price(i), 0));
+		}
+		return responses;
+	}
+
+	static List<ProductRequest> requests(int size) {
+		final var requests = new ArrayList<ProductRequest>(size);
+		for (int i = 1; i <= size; i++) {
+			requests.add(request(i));
+		}
+		return requests;
+	}
+
+	static ProductRequest request(int i) {
+		return new ProductRequest(name(i), description(i), price(i));
+	}
+
+	private static String name(int i) {
+		return "Product " + i;
+	}
+
+	private static String description(int i) {
+		return "Description of product number " + i + " with a realistic amount of text";
+	}
+
+	private static BigDecimal price(int i) {
+		return BigDecimal.valueOf(i % 10_000, 2);
+	}
+}
@@ -0,0 +1,217 @@
+package org.backend.developer.assignment.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.backend.developer.assignment.BackendDeveloperAssignmentApplication;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.service.ProductService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@code /api/products} over HTTP with the mix of {@link LoadScenario}s at a fixed arrival rate against a
+ * real PostgreSQL (see {@link StandInDatabase}), and fails when a scenario misses its latency objectives.
+ * <p>
+ * Requests are sent on schedule whether or not earlier ones have completed (an open model), and each latency is
+ * measured from the time the request was due rather than sent, so a stalled server shows up as the latency its
+ * clients would see instead of as fewer requests. Scenarios are picked from a seeded random sequence, so every run
+ * sends the same requests.
+ * <p>
+ * Options: {@code -rate} requests per second (default 200), {@code -warmup} and {@code -duration} (default 20s
+ * and 60s), {@code -report} file the percentile distributions are written to. Exits with status 1 on a violation.
+ */
+public final class ProductLoadTest {
+
+	private static final int SEEDED_PRODUCTS = 10_000;
+	private static final long SEED = 42;
+	private static final double MAX_ERROR_RATIO = 0.001;
+
+	private ProductLoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		final var options = Options.parse(args);
+
+		final List<String> violations;
+		try (var database = StandInDatabase.start()) {
+			final var arguments = new ArrayList<>(database.arguments());
+			arguments.add("--server.port=0");
+			// a single client from one address would only measure its own rate limit
+			arguments.add("--product.rate-limit.enabled=false");
+			arguments.add("--logging.level.root=WARN");
+
+			try (var context = new SpringApplicationBuilder(BackendDeveloperAssignmentApplication.class)
+					.run(arguments.toArray(String[]::new))) {
+				final var ids = context.getBean(ProductService.class)
+						.createProducts(ProductFixtures.requests(SEEDED_PRODUCTS)).succeeded().stream()
+						.map(ProductResponse::id)
+						.toList();
+				final var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+				final var target = new LoadScenario.Target(URI.create("http://localhost:" + port + "/api/"), ids);
+
+				try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+				     // plain HTTP/1.1, as Tomcat does not upgrade connections to h2c
+				     var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build()) {
+					final var random = new SplittableRandom(SEED);
+					System.out.printf("Warming up for %s at %d requests/s%n", options.warmup(), options.rate());
+					run(client, target, random, options.rate(), options.warmup());
+					System.out.printf("Measuring for %s at %d requests/s%n", options.duration(), options.rate());
+					final var results = run(client, target, random, options.rate(), options.duration());
+
+					System.out.print(results.summary());
+					if (options.report() != null) {
+						Files.writeString(options.report(), results.distributions());
+					}
+					violations = results.violations();
+				}
+			}
+		}
+
+		if (!violations.isEmpty()) {
+			violations.forEach(violation -> System.out.println("SLO violated: " + violation));
+			System.exit(1);
+		}
+		System.out.println("All latency objectives met");
+	}
+
+	private static Results run(HttpClient client, LoadScenario.Target target, SplittableRandom random, int rate,
+	                           Duration duration) {
+		final var results = new Results(duration);
+		final var interval = TimeUnit.SECONDS.toNanos(1) / rate;
+		final var requests = duration.toSeconds() * rate;
+		final var pending = new ArrayList<CompletableFuture<?>>();
+		final var start = System.nanoTime();
+
+		for (long i = 0; i < requests; i++) {
+			final var due = start + i * interval;
+			final var delay = due - System.nanoTime();
+			if (delay > 0) {
+				LockSupport.parkNanos(delay);
+			}
+
+			final var scenario = LoadScenario.pick(random);
+			pending.add(client.sendAsync(scenario.request(target, random), HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, failure) -> results.record(scenario, due,
+							failure == null && response.statusCode() == scenario.expectedStatus)));
+		}
+
+		CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+				.exceptionally(failure -> null)
+				.join();
+		return results;
+	}
+
+	private static final class Results {
+
+		private static final double MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+		private final Duration duration;
+		private final Map<LoadScenario, Histogram> latencies = new EnumMap<>(LoadScenario.class);
+		private final Map<LoadScenario, AtomicLong> errors = new EnumMap<>(LoadScenario.class);
+
+		Results(Duration duration) {
+			this.duration = duration;
+			for (final var scenario : LoadScenario.values()) {
+				latencies.put(scenario, new ConcurrentHistogram(LoadScenario.TIMEOUT.toNanos() * 2, 3));
+				errors.put(scenario, new AtomicLong());
+			}
+		}
+
+		void record(LoadScenario scenario, long due, boolean succeeded) {
+			latencies.get(scenario).recordValue(Math.min(System.nanoTime() - due, LoadScenario.TIMEOUT.toNanos() * 2));
+			if (!succeeded) {
+				errors.get(scenario).incrementAndGet();
+			}
+		}
+
+		String summary() {
+			final var summary = new StringBuilder(String.format("%-16s %9s %9s %9s %9s %9s %9s %7s%n",
+					"scenario", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors"));
+			latencies.forEach((scenario, histogram) -> summary.append(String.format(
+					"%-16s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n",
+					scenario, histogram.getTotalCount(), (double) histogram.getTotalCount() / duration.toSeconds(),
+					histogram.getValueAtPercentile(50) / MILLIS, histogram.getValueAtPercentile(99) / MILLIS,
+					histogram.getValueAtPercentile(99.9) / MILLIS, histogram.getMaxValue() / MILLIS,
+					errors.get(scenario).get())));
+			return summary.toString();
+		}
+
+		String distributions() {
+			final var distributions = new ByteArrayOutputStream();
+			try (var out = new PrintStream(distributions)) {
+				latencies.forEach((scenario, histogram) -> {
+					out.println(scenario);
+					histogram.outputPercentileDistribution(out, MILLIS);
+				});
+			}
+			return distributions.toString();
+		}
+
+		List<String> violations() {
+			final var violations = new ArrayList<String>();
+			latencies.forEach((scenario, histogram) -> {
+				check(violations, scenario, "p50", histogram.getValueAtPercentile(50), scenario.slo.p50());
+				check(violations, scenario, "p99", histogram.getValueAtPercentile(99), scenario.slo.p99());
+				check(violations, scenario, "p99.9", histogram.getValueAtPercentile(99.9), scenario.slo.p999());
+				final var failed = errors.get(scenario).get();
+				if (failed > histogram.getTotalCount() * MAX_ERROR_RATIO) {
+					violations.add("%s: %d of %d requests failed".formatted(scenario, failed, histogram.getTotalCount()));
+				}
+			});
+			return violations;
+		}
+
+		private static void check(List<String> violations, LoadScenario scenario, String percentile, long nanos,
+		                          long maxMillis) {
+			if (nanos > TimeUnit.MILLISECONDS.toNanos(maxMillis)) {
+				violations.add("%s: %s %.2f ms above %d ms".formatted(scenario, percentile, nanos / MILLIS, maxMillis));
+			}
+		}
+	}
+
+	/**
+	 * @param rate     requests per second
+	 * @param warmup   time requests are sent before latencies are recorded
+	 * @param duration time latencies are recorded
+	 * @param report   file the percentile distributions are written to, none when {@code null}
+	 */
+	private record Options(int rate, Duration warmup, Duration duration, Path report) {
+
+		static Options parse(String[] args) {
+			var rate = 200;
+			var warmup = Duration.ofSeconds(20);
+			var duration = Duration.ofSeconds(60);
+			Path report = null;
+			for (int i = 0; i + 1 < args.length; i += 2) {
+				switch (args[i]) {
+					case "-rate" -> rate = Integer.parseInt(args[i + 1]);
+					case "-warmup" -> warmup = DurationStyle.detectAndParse(args[i + 1]);
+					case "-duration" -> duration = DurationStyle.detectAndParse(args[i + 1]);
+					case "-report" -> report = Path.of(args[i + 1]);
+					default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+				}
+			}
+			return new Options(rate, warmup, duration, report);
+		}
+	}
+}
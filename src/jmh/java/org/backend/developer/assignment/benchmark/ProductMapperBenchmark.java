@@ -0,0 +1,49 @@
+package org.backend.developer.assignment.benchmark;
+
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.mapper.ProductMapper;
+import org.backend.developer.assignment.mapper.ProductMapperImpl;
+import org.backend.developer.assignment.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping entity lists to responses, as done for every list page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseG1GC")
+public class ProductMapperBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	private int size;
+
+	private final ProductMapper mapper = new ProductMapperImpl();
+
+	private List<Product> products;
+
+	@Setup
+	public void setUp() {
+		products = ProductFixtures.products(size);
+	}
+
+	@Benchmark
+	public List<ProductResponse> mapList() {
+		return mapper.from(products);
+	}
+}
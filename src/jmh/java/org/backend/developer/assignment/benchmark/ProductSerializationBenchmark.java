@@ -0,0 +1,69 @@
+package org.backend.developer.assignment.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of encoding response lists with the same Jackson setup Spring MVC uses,
+ * as JSON and as the binary formats offered through content negotiation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseG1GC")
+public class ProductSerializationBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	private int size;
+
+	@Param({"json", "cbor", "smile"})
+	private String format;
+
+	private ObjectWriter writer;
+
+	private List<ProductResponse> responses;
+
+	@Setup
+	public void setUp() {
+		ObjectMapper objectMapper = switch (format) {
+			case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+			case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+			default -> Jackson2ObjectMapperBuilder.json().build();
+		};
+		writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+				.constructCollectionType(List.class, ProductResponse.class));
+		responses = ProductFixtures.responses(size);
+	}
+
+	@Benchmark
+	public byte[] serializeToBytes() throws IOException {
+		return writer.writeValueAsBytes(responses);
+	}
+
+	@Benchmark
+	public void serializeToStream() throws IOException {
+		writer.writeValue(OutputStream.nullOutputStream(), responses);
+	}
+}
@@ -0,0 +1,103 @@
+package org.backend.developer.assignment.benchmark;
+
+import org.backend.developer.assignment.BackendDeveloperAssignmentApplication;
+import org.backend.developer.assignment.api.dto.request.ProductPageRequest;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of the service CRUD paths against a real PostgreSQL (see {@link StandInDatabase}),
+ * with the product cache either enabled or effectively disabled ({@code cacheSize = 0}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseG1GC")
+public class ProductServiceBenchmark {
+
+	private static final int SEEDED_PRODUCTS = 10_000;
+	private static final int HOT_PRODUCTS = 1_000;
+	private static final int PAGE_SIZE = 100;
+
+	@Param({"10000", "0"})
+	private int cacheSize;
+
+	private StandInDatabase database;
+	private ConfigurableApplicationContext context;
+	private ProductService productService;
+	private List<Long> ids;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		database = StandInDatabase.start();
+		final var arguments = new ArrayList<>(database.arguments());
+		arguments.add("--spring.cache.caffeine.spec=maximumSize=" + cacheSize + ",recordStats");
+
+		context = new SpringApplicationBuilder(BackendDeveloperAssignmentApplication.class)
+				.web(WebApplicationType.NONE)
+				.run(arguments.toArray(String[]::new));
+		productService = context.getBean(ProductService.class);
+
+		ids = productService.createProducts(ProductFixtures.requests(SEEDED_PRODUCTS)).succeeded().stream()
+				.map(ProductResponse::id)
+				.toList();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		context.close();
+		database.close();
+	}
+
+	@Benchmark
+	public ProductResponse getProductById() throws Exception {
+		// reads concentrate on a hot set, as in production traffic
+		return productService.getProductById(ids.get(ThreadLocalRandom.current().nextInt(HOT_PRODUCTS)));
+	}
+
+	@Benchmark
+	public List<ProductResponse> getProductsPage() {
+		final var after = ids.get(ThreadLocalRandom.current().nextInt(SEEDED_PRODUCTS - PAGE_SIZE)) - 1;
+		return productService.getProducts(ProductPageRequest.after(after), PAGE_SIZE);
+	}
+
+	@Benchmark
+	public ProductResponse updateProduct() throws Exception {
+		final var id = randomId();
+		return productService.updateProduct(id, ProductFixtures.request(Math.toIntExact(id % SEEDED_PRODUCTS)));
+	}
+
+	@Benchmark
+	public void createAndDeleteProduct() throws Exception {
+		final var created = productService.createProduct(ProductFixtures.request(SEEDED_PRODUCTS + 1));
+		productService.deleteProduct(created.id());
+	}
+
+	private Long randomId() {
+		return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+	}
+}
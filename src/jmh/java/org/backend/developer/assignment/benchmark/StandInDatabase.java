@@ -0,0 +1,60 @@
+package org.backend.developer.assignment.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * PostgreSQL for benchmarks: the database given by the {@code BENCHMARK_DB_URL},
+ * {@code BENCHMARK_DB_USER} and {@code BENCHMARK_DB_PASSWORD} environment variables,
+ * or a throwaway embedded instance when no URL is set.
+ */
+final class StandInDatabase implements AutoCloseable {
+
+	private final EmbeddedPostgres embedded;
+	private final String url;
+	private final String username;
+	private final String password;
+
+	private StandInDatabase(EmbeddedPostgres embedded, String url, String username, String password) {
+		this.embedded = embedded;
+		this.url = url;
+		this.username = username;
+		this.password = password;
+	}
+
+	static StandInDatabase start() {
+		final var url = System.getenv("BENCHMARK_DB_URL");
+		if (url != null) {
+			return new StandInDatabase(null, url,
+					System.getenv().getOrDefault("BENCHMARK_DB_USER", "postgres"),
+					System.getenv().getOrDefault("BENCHMARK_DB_PASSWORD", ""));
+		}
+
+		try {
+			final var embedded = EmbeddedPostgres.start();
+			return new StandInDatabase(embedded, embedded.getJdbcUrl("postgres", "postgres"), "postgres", "postgres");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Command line arguments pointing the application at this database.
+	 */
+	List<String> arguments() {
+		return List.of(
+				"--spring.datasource.url=" + url,
+				"--spring.datasource.username=" + username,
+				"--spring.datasource.password=" + password);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (embedded != null) {
+			embedded.close();
+		}
+	}
+}
@@ -4,9 +4,11 @@ import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @OpenAPIDefinition(info = @Info(title = "Product API", version = "1.0", description = "API for managing products"))
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class BackendDeveloperAssignmentApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,17 @@
+package org.backend.developer.assignment.api;
+
+import org.backend.developer.assignment.api.dto.request.ChangeCursor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds change feed cursors from the {@code since} parameter and the {@code Last-Event-ID} header.
+ */
+@Component
+public class ChangeCursorConverter implements Converter<String, ChangeCursor> {
+
+	@Override
+	public ChangeCursor convert(String source) {
+		return ChangeCursor.parse(source.strip());
+	}
+}
@@ -0,0 +1,146 @@
+package org.backend.developer.assignment.api;
+
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.backend.developer.assignment.api.dto.request.ChangeCursor;
+import org.backend.developer.assignment.api.dto.response.ProductChangesResponse;
+import org.backend.developer.assignment.event.ProductChangeSignal;
+import org.backend.developer.assignment.service.ProductChangeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Tag(name = "Product changes", description = "Feed of product inserts, updates and deletes for incremental sync")
+@Slf4j
+@RestController
+@RequestMapping("/products/changes")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class ProductChangesController {
+
+	private static final String DEFAULT_PAGE_LIMIT = "100";
+	private static final int MAX_PAGE_LIMIT = 1000;
+	private static final int MAX_WAIT_SECONDS = 30;
+	private static final String LAST_EVENT_ID = "Last-Event-ID";
+	private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(5);
+	// re-read the feed now and then even without a notification, e.g. while the change listener reconnects
+	private static final Duration STREAM_POLL_INTERVAL = Duration.ofSeconds(10);
+
+	private final ProductChangeService productChangeService;
+	private final ProductChangeSignal changeSignal;
+	private final AsyncTaskExecutor applicationTaskExecutor;
+
+	@Operation(summary = "Get product changes",
+			description = "Returns the inserts, updates and deletes committed after the cursor `since`, oldest first, "
+					+ "each with the current state of the product, and the cursor to continue from. "
+					+ "Without `since`, returns no changes and the cursor of the current end of the feed: "
+					+ "take it before a full listing, then follow the feed from it. "
+					+ "With `wait`, waits up to that many seconds for a change when there is none yet (long polling)")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Successfully retrieved the changes"),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid request supplied"),
+			@ApiResponse(responseCode = "410",
+					description = "Changes after `since` have been pruned; resynchronize from a full listing")
+	})
+	@GetMapping
+	public CompletableFuture<ProductChangesResponse> getChanges(
+			@Parameter(description = "Cursor of the last change already seen")
+			@RequestParam(required = false) ChangeCursor since,
+			@Parameter(description = "Maximum number of changes to return")
+			@RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) @Min(1) @Max(MAX_PAGE_LIMIT) int limit,
+			@Parameter(description = "Seconds to wait for a change when there is none yet")
+			@RequestParam(defaultValue = "0") @Min(0) @Max(MAX_WAIT_SECONDS) int wait) {
+		if (since == null) {
+			final var head = productChangeService.getHead();
+			return CompletableFuture.completedFuture(new ProductChangesResponse(List.of(), head.toString()));
+		}
+
+		final var changed = changeSignal.next();
+		final var changes = productChangeService.getChanges(since, limit);
+		if (!changes.changes().isEmpty() || wait == 0) {
+			return CompletableFuture.completedFuture(changes);
+		}
+		return changed.copy()
+				.completeOnTimeout(null, wait, TimeUnit.SECONDS)
+				.thenApplyAsync(ignored -> productChangeService.getChanges(since, limit), applicationTaskExecutor);
+	}
+
+	@Operation(summary = "Stream product changes",
+			description = "Sends every product change after `since` (or `Last-Event-ID`, or the current end of the feed) "
+					+ "as a server-sent event named `change`, with the change cursor as event id, and keeps sending "
+					+ "new changes as they are committed")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Successfully started streaming the changes")
+	})
+	@GetMapping(produces = TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamChanges(
+			@Parameter(description = "Cursor of the last change already seen")
+			@RequestParam(required = false) ChangeCursor since,
+			@Parameter(description = "Cursor of the last event received before reconnecting")
+			@RequestHeader(value = LAST_EVENT_ID, required = false) ChangeCursor lastEventId) {
+		final var emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+		final var closed = new AtomicBoolean();
+		emitter.onCompletion(() -> closed.set(true));
+		emitter.onTimeout(() -> closed.set(true));
+		emitter.onError(e -> closed.set(true));
+
+		final var start = lastEventId != null ? lastEventId : since;
+		applicationTaskExecutor.execute(() ->
+				send(emitter, closed, start != null ? start : productChangeService.getHead()));
+		return emitter;
+	}
+
+	/**
+	 * Sends the changes after {@code since}, then schedules itself again for the next change.
+	 */
+	private void send(SseEmitter emitter, AtomicBoolean closed, ChangeCursor since) {
+		if (closed.get()) {
+			return;
+		}
+		try {
+			final var changed = changeSignal.next();
+			final var page = productChangeService.getChanges(since, MAX_PAGE_LIMIT);
+			for (var change : page.changes()) {
+				emitter.send(SseEmitter.event().id(change.cursor()).name("change").data(change));
+			}
+
+			final var next = ChangeCursor.parse(page.cursor());
+			if (page.changes().size() == MAX_PAGE_LIMIT) {
+				applicationTaskExecutor.execute(() -> send(emitter, closed, next));
+			} else {
+				changed.copy()
+						.completeOnTimeout(null, STREAM_POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS)
+						.thenRunAsync(() -> send(emitter, closed, next), applicationTaskExecutor);
+			}
+		} catch (IOException e) {
+			log.debug("Product change stream closed by the client", e);
+			emitter.completeWithError(e);
+		} catch (RuntimeException e) {
+			emitter.completeWithError(e);
+		}
+	}
+}
@@ -1,17 +1,41 @@
 package org.backend.developer.assignment.api;
 
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.api.dto.request.ProductBatchUpdateRequest;
+import org.backend.developer.assignment.api.dto.request.ProductPageRequest;
 import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.request.ProductSort;
+import org.backend.developer.assignment.api.dto.response.BatchResponse;
 import org.backend.developer.assignment.api.dto.response.ProductResponse;
-import org.backend.developer.assignment.exception.ProductNotFoundException;
+import org.backend.developer.assignment.api.dto.response.ProductUpdateTicket;
+import org.backend.developer.assignment.api.dto.response.ProductsByIdResponse;
+import org.backend.developer.assignment.event.ProductListingVersion;
 import org.backend.developer.assignment.service.ProductService;
+import org.backend.developer.assignment.writebehind.ProductWriteBehindQueue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,37 +43,192 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Tag(name = "Products", description = "API for managing Products")
 @RestController
 @RequestMapping("/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class ProductController {
 
+	private static final String DEFAULT_PAGE_LIMIT = "100";
+	private static final int MAX_PAGE_LIMIT = 1000;
+	private static final int MAX_BATCH_SIZE = 5000;
+	private static final int MAX_SEARCH_OFFSET = 10_000;
+	private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+	private static final int MAX_IDS_PER_REQUEST = 1000;
+	private static final String PREFER = "Prefer";
+	private static final String PREFERENCE_APPLIED = "Preference-Applied";
+	private static final String RESPOND_ASYNC = "respond-async";
+
 	private final ProductService productService;
+	private final ObjectMapper objectMapper;
+	private final Optional<ProductListingVersion> listingVersion;
+	private final Optional<ProductWriteBehindQueue> writeBehindQueue;
 
-	@Operation(summary = "Get all products",
-			description = "Returns all products")
+	@Operation(summary = "Get a page of products",
+			description = "Returns up to `limit` products matching the optional price range and name prefix, "
+					+ "ordered by `sort`: `id` (default), `price` or `-price` (descending), ties broken by id. "
+					+ "Pages continue after the product given by `after` (and `afterPrice`, required when sorting by price). "
+					+ "When more products may follow, a `Link` header with `rel=\"next\"` points to the next page. "
+					+ "Responds with `application/cbor` or `application/x-jackson-smile` instead of JSON "
+					+ "when requested by `Accept`")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200",
-					description = "Successfully retrieved the list of products"),
+					description = "Successfully retrieved the page of products"),
+			@ApiResponse(responseCode = "304",
+					description = "No product has changed since the listing tagged by `If-None-Match`"),
 			@ApiResponse(responseCode = "400",
 					description = "Invalid request supplied")
 	})
 	@GetMapping
-	public List<ProductResponse> getAllProducts() {
-		return productService.getAllProducts();
+	public ResponseEntity<List<ProductResponse>> getProducts(
+			@Parameter(description = "Id of the last product of the previous page")
+			@RequestParam(defaultValue = "0") @PositiveOrZero long after,
+			@Parameter(description = "Price of the last product of the previous page, when sorting by price")
+			@RequestParam(required = false) @PositiveOrZero BigDecimal afterPrice,
+			@Parameter(description = "Lowest price to include")
+			@RequestParam(required = false) @PositiveOrZero BigDecimal minPrice,
+			@Parameter(description = "Highest price to include")
+			@RequestParam(required = false) @PositiveOrZero BigDecimal maxPrice,
+			@Parameter(description = "Case-insensitive prefix of the product name")
+			@RequestParam(required = false) @Size(min = 1, max = 100) String nameStartsWith,
+			@Parameter(description = "Order of the products: `id`, `price` or `-price`",
+					schema = @Schema(allowableValues = {"id", "price", "-price"}))
+			@RequestParam(defaultValue = "id") ProductSort sort,
+			@Parameter(description = "Maximum number of products to return")
+			@RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) @Min(1) @Max(MAX_PAGE_LIMIT) int limit,
+			WebRequest webRequest) {
+		if (listingNotModified(webRequest)) {
+			return null;
+		}
+
+		final var page = new ProductPageRequest(minPrice, maxPrice, nameStartsWith, sort, after, afterPrice);
+		final var products = productService.getProducts(page, limit);
+
+		final var response = ResponseEntity.ok();
+		if (products.size() == limit) {
+			final var last = products.getLast();
+			final var next = ServletUriComponentsBuilder.fromCurrentRequest()
+					.replaceQueryParam("after", last.id());
+			if (sort.byPrice()) {
+				next.replaceQueryParam("afterPrice", last.price());
+			}
+			response.header(HttpHeaders.LINK, nextPageLink(next, limit));
+		}
+		return response.body(products);
+	}
+
+	@Operation(summary = "Stream all products",
+			description = "Streams every product ordered by id as newline-delimited JSON, one product per line")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Successfully started streaming the products"),
+			@ApiResponse(responseCode = "304",
+					description = "No product has changed since the listing tagged by `If-None-Match`")
+	})
+	@GetMapping(produces = APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamProducts(WebRequest webRequest) {
+		if (listingNotModified(webRequest)) {
+			return null;
+		}
+
+		final var writer = objectMapper.writerFor(ProductResponse.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+		StreamingResponseBody body = outputStream -> {
+			try (var generator = objectMapper.createGenerator(outputStream)) {
+				generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				generator.setRootValueSeparator(null);
+				productService.streamProducts(product -> writeLine(writer, generator, product));
+			}
+		};
+		return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+	}
+
+	@Operation(summary = "Search products",
+			description = "Returns products whose name or description matches `q` (web search syntax: "
+					+ "words, \"quoted phrases\", `or`, `-excluded`) or whose name starts with `q`. "
+					+ "Name prefix matches come first, the rest are ranked by relevance. "
+					+ "When more products may follow, a `Link` header with `rel=\"next\"` points to the next page")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Successfully retrieved the page of matching products"),
+			@ApiResponse(responseCode = "304",
+					description = "No product has changed since the listing tagged by `If-None-Match`"),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid request supplied")
+	})
+	@GetMapping("/search")
+	public ResponseEntity<List<ProductResponse>> searchProducts(
+			@Parameter(description = "Search text")
+			@RequestParam @NotBlank @Size(max = MAX_SEARCH_QUERY_LENGTH) String q,
+			@Parameter(description = "Number of matching products to skip")
+			@RequestParam(defaultValue = "0") @PositiveOrZero @Max(MAX_SEARCH_OFFSET) long offset,
+			@Parameter(description = "Maximum number of products to return")
+			@RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) @Min(1) @Max(MAX_PAGE_LIMIT) int limit,
+			WebRequest webRequest) {
+		if (listingNotModified(webRequest)) {
+			return null;
+		}
+
+		final var products = productService.searchProducts(q, offset, limit);
+
+		final var response = ResponseEntity.ok();
+		if (products.size() == limit && offset + limit <= MAX_SEARCH_OFFSET) {
+			final var next = ServletUriComponentsBuilder.fromCurrentRequest()
+					.replaceQueryParam("offset", offset + limit);
+			response.header(HttpHeaders.LINK, nextPageLink(next, limit));
+		}
+		return response.body(products);
+	}
+
+	@Operation(summary = "Get products by id",
+			description = "Returns the products with up to " + MAX_IDS_PER_REQUEST + " comma-separated `ids` "
+					+ "in request order, e.g. to render a cart with one request. "
+					+ "Ids that match no product are listed in `missingIds`")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Successfully retrieved the products, see `missingIds` for the ones not found"),
+			@ApiResponse(responseCode = "304",
+					description = "No product has changed since the listing tagged by `If-None-Match`"),
+			@ApiResponse(responseCode = "400",
+					description = "Empty or oversized list of ids supplied")
+	})
+	@GetMapping(params = "ids")
+	public ResponseEntity<ProductsByIdResponse> getProductsById(
+			@Parameter(description = "Ids of the products to return")
+			@RequestParam @Size(min = 1, max = MAX_IDS_PER_REQUEST) List<@NotNull Long> ids,
+			WebRequest webRequest) {
+		if (listingNotModified(webRequest)) {
+			return null;
+		}
+
+		return ResponseEntity.ok(productService.getProductsById(ids));
 	}
 
 	@Operation(summary = "Get existing product",
-			description = "Returns a product if exists")
+			description = "Returns a product if exists, tagged with its version in the `ETag` header")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200",
 					description = "Successfully retrieved the product by id"),
+			@ApiResponse(responseCode = "304",
+					description = "The product is unchanged since the version tagged by `If-None-Match`"),
 			@ApiResponse(responseCode = "400",
 					description = "Invalid request supplied"),
 			@ApiResponse(responseCode = "404",
@@ -57,12 +236,9 @@ public class ProductController {
 	})
 	@GetMapping("/{id}")
 	public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
-		try {
-			ProductResponse product = productService.getProductById(id);
-			return ResponseEntity.ok(product);
-		} catch (ProductNotFoundException e) {
-			return ResponseEntity.notFound().build();
-		}
+		ProductResponse product = productService.getProductById(id);
+		// answered with 304 and no body when it matches If-None-Match
+		return ResponseEntity.ok().eTag(ProductETags.of(product)).body(product);
 	}
 
 	@Operation(summary = "Create a new product",
@@ -75,27 +251,68 @@ public class ProductController {
 	@PostMapping
 	public ResponseEntity<ProductResponse> createProduct(@RequestBody @Valid ProductRequest request) {
 		final var product = productService.createProduct(request);
-		return ResponseEntity.status(CREATED).body(product);
+		return ResponseEntity.status(CREATED).eTag(ProductETags.of(product)).body(product);
 	}
 
 	@Operation(summary = "Update existing product",
-			description = "Updates a product with the given details if it exists")
+			description = "Updates a product with the given details if it exists. "
+					+ "With `If-Match`, only if the product is still at the tagged version. "
+					+ "With `Prefer: respond-async` and no `If-Match`, the update may instead be accepted for writing "
+					+ "shortly after, replacing an update of the same product still waiting; the response then "
+					+ "carries a ticket, and `Location` points to the outcome of the update")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200",
 					description = "Successfully updated the product"),
+			@ApiResponse(responseCode = "202",
+					description = "The update is accepted and will be written shortly",
+					content = @Content(schema = @Schema(implementation = ProductUpdateTicket.class))),
 			@ApiResponse(responseCode = "400",
 					description = "Invalid product data supplied"),
 			@ApiResponse(responseCode = "404",
-					description = "Product not found")})
+					description = "Product not found"),
+			@ApiResponse(responseCode = "412",
+					description = "The product has changed since the version tagged by `If-Match`"),
+			@ApiResponse(responseCode = "503",
+					description = "Too many updates are waiting to be written")})
 	@PutMapping("/{id}")
-	public ResponseEntity<ProductResponse> updateProduct(@PathVariable Long id,
-	                                                     @RequestBody @Valid ProductRequest request) {
-		try {
-			ProductResponse updatedProduct = productService.updateProduct(id, request);
-			return ResponseEntity.ok(updatedProduct);
-		} catch (ProductNotFoundException e) {
-			return ResponseEntity.notFound().build();
+	public ResponseEntity<?> updateProduct(@PathVariable Long id,
+	                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+	                                       String ifMatch,
+	                                       @RequestHeader(value = PREFER, required = false) String prefer,
+	                                       @RequestBody @Valid ProductRequest request) {
+		// a conditional update has to be checked against the current version, so it is always written right away
+		if (ifMatch == null && writeBehindQueue.isPresent() && prefersAsync(prefer)) {
+			final var ticket = writeBehindQueue.get().accept(id, request);
+			return ResponseEntity.accepted()
+					.header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+					.location(ServletUriComponentsBuilder.fromCurrentContextPath()
+							.path("/products/updates/{token}")
+							.buildAndExpand(ticket.token())
+							.toUri())
+					.body(ticket);
 		}
+
+		writeBehindQueue.ifPresent(queue -> queue.supersede(id));
+		final var expectedVersion = ProductETags.ifMatchVersion(ifMatch);
+		ProductResponse updatedProduct = expectedVersion.isPresent()
+				? productService.updateProduct(id, request, expectedVersion.getAsLong())
+				: productService.updateProduct(id, request);
+		return ResponseEntity.ok().eTag(ProductETags.of(updatedProduct)).body(updatedProduct);
+	}
+
+	@Operation(summary = "Get the outcome of an asynchronous update",
+			description = "Returns whether an update accepted with `Prefer: respond-async` is still waiting, "
+					+ "has been written, was replaced by a later update of the product, or found no product. "
+					+ "Outcomes are kept for 10 minutes, in memory: updates still waiting keep their tickets across "
+					+ "a restart, while outcomes reached before it are no longer known")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Successfully retrieved the outcome of the update"),
+			@ApiResponse(responseCode = "404",
+					description = "No update with this ticket is known")})
+	@GetMapping("/updates/{token}")
+	public ResponseEntity<ProductUpdateTicket> getProductUpdate(@PathVariable String token) {
+		return ResponseEntity.of(writeBehindQueue.flatMap(queue -> queue.ticket(token)));
 	}
 
 	@Operation(summary = "Delete a product",
@@ -107,11 +324,93 @@ public class ProductController {
 					description = "Product not found")})
 	@DeleteMapping("/{id}")
 	public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
+		productService.deleteProduct(id);
+		return ResponseEntity.noContent().build();
+	}
+
+	@Operation(summary = "Create products in bulk",
+			description = "Creates up to " + MAX_BATCH_SIZE + " products in one transaction. "
+					+ "Invalid items are reported by index and do not abort the batch")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Batch processed, see the errors for rejected items"),
+			@ApiResponse(responseCode = "400",
+					description = "Empty or oversized batch supplied")})
+	@PostMapping("/batch")
+	public BatchResponse<ProductResponse> createProducts(
+			@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE) List<ProductRequest> requests) {
+		return productService.createProducts(requests);
+	}
+
+	@Operation(summary = "Update products in bulk",
+			description = "Updates up to " + MAX_BATCH_SIZE + " products in one transaction. "
+					+ "Invalid or missing items, and repeated ids after their first item, "
+					+ "are reported by index and do not abort the batch")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Batch processed, see the errors for rejected items"),
+			@ApiResponse(responseCode = "400",
+					description = "Empty or oversized batch supplied")})
+	@PutMapping("/batch")
+	public BatchResponse<ProductResponse> updateProducts(
+			@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE) List<ProductBatchUpdateRequest> requests) {
+		writeBehindQueue.ifPresent(queue -> requests.stream()
+				.map(ProductBatchUpdateRequest::id)
+				.filter(Objects::nonNull)
+				.forEach(queue::supersede));
+		return productService.updateProducts(requests);
+	}
+
+	@Operation(summary = "Delete products in bulk",
+			description = "Deletes up to " + MAX_BATCH_SIZE + " products with one statement. "
+					+ "Missing ids are reported by index and do not abort the batch")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Batch processed, see the errors for rejected items"),
+			@ApiResponse(responseCode = "400",
+					description = "Empty or oversized batch supplied")})
+	@DeleteMapping("/batch")
+	public BatchResponse<Long> deleteProducts(
+			@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE) List<Long> ids) {
+		return productService.deleteProducts(ids);
+	}
+
+	/**
+	 * Answers a listing request with 304 when no product has changed since the listing tagged by its
+	 * {@code If-None-Match}, before any query runs; otherwise tags the response with the current marker, if it
+	 * is known.
+	 */
+	private boolean listingNotModified(WebRequest webRequest) {
+		final var etag = listingVersion.map(ProductListingVersion::etag);
+		return etag.isPresent() && webRequest.checkNotModified(etag.get());
+	}
+
+	private static boolean prefersAsync(String prefer) {
+		if (prefer == null) {
+			return false;
+		}
+		for (final var preference : prefer.split(",")) {
+			if (preference.strip().equalsIgnoreCase(RESPOND_ASYNC)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String nextPageLink(UriComponentsBuilder next, int limit) {
+		final var uri = next.replaceQueryParam("limit", limit)
+				// the query string of the current request is already encoded
+				.build(true)
+				.toUriString();
+		return "<" + uri + ">; rel=\"next\"";
+	}
+
+	private static void writeLine(ObjectWriter writer, JsonGenerator generator, ProductResponse product) {
 		try {
-			productService.deleteProduct(id);
-		} catch (ProductNotFoundException e) {
-			return ResponseEntity.notFound().build();
+			writer.writeValue(generator, product);
+			generator.writeRaw('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
-		return ResponseEntity.noContent().build();
 	}
 }
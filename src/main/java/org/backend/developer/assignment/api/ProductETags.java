@@ -0,0 +1,42 @@
+package org.backend.developer.assignment.api;
+
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.exception.ProductVersionMismatchException;
+
+import java.util.OptionalLong;
+
+/**
+ * Entity tags of single products: the product version as a strong tag, e.g. {@code "3"}.
+ */
+final class ProductETags {
+
+	private static final String ANY = "*";
+	private static final String UNSUPPORTED_IF_MATCH = "If-Match must be * or a single product entity tag";
+
+	private ProductETags() {
+	}
+
+	static String of(ProductResponse product) {
+		return "\"" + product.version() + "\"";
+	}
+
+	/**
+	 * @return the product version required by an {@code If-Match} header, empty when there is no condition
+	 * @throws ProductVersionMismatchException if the header can match no product version, e.g. a weak tag
+	 */
+	static OptionalLong ifMatchVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.strip())) {
+			return OptionalLong.empty();
+		}
+
+		final var tag = ifMatch.strip();
+		if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+			throw new ProductVersionMismatchException(UNSUPPORTED_IF_MATCH);
+		}
+		try {
+			return OptionalLong.of(Long.parseLong(tag, 1, tag.length() - 1, 10));
+		} catch (NumberFormatException e) {
+			throw new ProductVersionMismatchException(UNSUPPORTED_IF_MATCH);
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package org.backend.developer.assignment.api;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.exception.ServiceOverloadedException;
+import org.backend.developer.assignment.export.ProductExportProperties;
+import org.backend.developer.assignment.export.ProductSnapshot;
+import org.backend.developer.assignment.export.ProductSnapshotExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Tag(name = "Products", description = "API for managing Products")
+@RestController
+@RequestMapping("/products/export")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "product.export", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ProductExportController {
+
+	private static final String APPLICATION_GZIP_VALUE = "application/gzip";
+	private static final String FILENAME = "products.ndjson.gz";
+
+	// Tomcat sends the file with sendfile(2) once the handler returns, when the connector supports it
+	private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	private final ProductSnapshotExporter exporter;
+	private final ProductExportProperties properties;
+
+	@Operation(summary = "Export all products",
+			description = "Returns every product ordered by id as gzip-compressed newline-delimited JSON. "
+					+ "The export is a snapshot refreshed in the background after products change, "
+					+ "so it may lag behind the latest writes by up to a minute; follow the change feed from before "
+					+ "the snapshot was taken (`Last-Modified`) to catch up. Interrupted downloads can be resumed "
+					+ "with `Range` and `If-Range`, giving either the `ETag` or the `Last-Modified` date of the export")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Successfully retrieved the export"),
+			@ApiResponse(responseCode = "206",
+					description = "Successfully retrieved the requested range of the export"),
+			@ApiResponse(responseCode = "304",
+					description = "The export is unchanged since the snapshot tagged by `If-None-Match`"),
+			@ApiResponse(responseCode = "416",
+					description = "The requested range lies beyond the end of the export"),
+			@ApiResponse(responseCode = "503",
+					description = "The first snapshot is still being written")
+	})
+	@GetMapping(produces = APPLICATION_GZIP_VALUE)
+	public void exportProducts(@RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+	                           @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+	                           WebRequest webRequest, HttpServletRequest request,
+	                           HttpServletResponse response) throws IOException {
+		final var snapshot = exporter.current().orElseThrow(() ->
+				new ServiceOverloadedException("The product export is being prepared", properties.retryAfter()));
+		if (webRequest.checkNotModified(snapshot.etag(), snapshot.createdAt().toEpochMilli())) {
+			return;
+		}
+
+		response.setContentType(APPLICATION_GZIP_VALUE);
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				ContentDisposition.attachment().filename(FILENAME).build().toString());
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+		var start = 0L;
+		var end = snapshot.size();
+		// a range of another snapshot, or several ranges, are answered with the whole export
+		final var byteRange = range == null || (ifRange != null && !isCurrent(ifRange, snapshot))
+				? null
+				: singleRange(range);
+		if (byteRange != null) {
+			start = byteRange.getRangeStart(snapshot.size());
+			if (start >= snapshot.size()) {
+				response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+				response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + snapshot.size());
+				return;
+			}
+			end = Math.min(byteRange.getRangeEnd(snapshot.size()) + 1, snapshot.size());
+			response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+			response.setHeader(HttpHeaders.CONTENT_RANGE,
+					"bytes " + start + "-" + (end - 1) + "/" + snapshot.size());
+		}
+
+		response.setContentLengthLong(end - start);
+		transfer(snapshot, start, end, request, response);
+	}
+
+	private static void transfer(ProductSnapshot snapshot, long start, long end, HttpServletRequest request,
+	                             HttpServletResponse response) throws IOException {
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+			request.setAttribute(SENDFILE_FILENAME, snapshot.file().toAbsolutePath().toString());
+			request.setAttribute(SENDFILE_START, start);
+			request.setAttribute(SENDFILE_END, end);
+			return;
+		}
+
+		try (var file = FileChannel.open(snapshot.file(), READ)) {
+			final var output = Channels.newChannel(response.getOutputStream());
+			for (var position = start; position < end; ) {
+				position += file.transferTo(position, end - position, output);
+			}
+		}
+	}
+
+	/**
+	 * Whether an {@code If-Range} validator, an entity tag or an HTTP-date, identifies the snapshot. A date matches
+	 * only the exact {@code Last-Modified} second of the snapshot: snapshots are immutable and written a refresh
+	 * interval apart, so the date is as strong a validator as the tag.
+	 */
+	private static boolean isCurrent(String ifRange, ProductSnapshot snapshot) {
+		if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+			// a weak tag never matches, If-Range requires a strong comparison
+			return ifRange.equals(snapshot.etag());
+		}
+		try {
+			final var date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+			return date.equals(snapshot.createdAt().truncatedTo(ChronoUnit.SECONDS));
+		} catch (DateTimeParseException e) {
+			return false;
+		}
+	}
+
+	private static HttpRange singleRange(String range) {
+		try {
+			final List<HttpRange> ranges = HttpRange.parseRanges(range);
+			return ranges.size() == 1 ? ranges.getFirst() : null;
+		} catch (IllegalArgumentException e) {
+			// a malformed Range header is ignored
+			return null;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package org.backend.developer.assignment.api;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.concurrency.AdaptiveConcurrencyLimiter;
+import org.backend.developer.assignment.ratelimit.RequestRateLimiter;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admits product API requests through the enabled limiters, naming each endpoint after its handler method.
+ * A request holds its concurrency slot until it completes, or until it turns asynchronous: long polls and
+ * streams waiting for data hold none.
+ */
+@RequiredArgsConstructor
+public class ProductRequestLimitInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String CONCURRENCY_SLOT = ProductRequestLimitInterceptor.class.getName() + ".CONCURRENCY_SLOT";
+
+	/**
+	 * {@code null} when rate limiting is disabled
+	 */
+	private final RequestRateLimiter rateLimiter;
+	/**
+	 * {@code null} when concurrency limiting is disabled
+	 */
+	private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+	private final String clientKeyHeader;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		// the dispatch resuming an asynchronous request was admitted already
+		if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod method)) {
+			return true;
+		}
+
+		final var endpoint = method.getMethod().getName();
+		if (rateLimiter != null) {
+			rateLimiter.acquire(clientKey(request), endpoint);
+		}
+		if (concurrencyLimiter != null) {
+			concurrencyLimiter.acquire(endpoint);
+			request.setAttribute(CONCURRENCY_SLOT, Boolean.TRUE);
+		}
+		return true;
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+	                                           Object handler) {
+		releaseConcurrencySlot(request);
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+	                            Exception ex) {
+		releaseConcurrencySlot(request);
+	}
+
+	private void releaseConcurrencySlot(HttpServletRequest request) {
+		if (request.getAttribute(CONCURRENCY_SLOT) != null) {
+			request.removeAttribute(CONCURRENCY_SLOT);
+			concurrencyLimiter.release();
+		}
+	}
+
+	private String clientKey(HttpServletRequest request) {
+		if (StringUtils.hasText(clientKeyHeader)) {
+			final var key = request.getHeader(clientKeyHeader);
+			if (StringUtils.hasText(key)) {
+				return key;
+			}
+		}
+		return request.getRemoteAddr();
+	}
+}
@@ -0,0 +1,17 @@
+package org.backend.developer.assignment.api;
+
+import org.backend.developer.assignment.api.dto.request.ProductSort;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the {@code sort} request parameter ({@code id}, {@code price} or {@code -price}).
+ */
+@Component
+public class ProductSortConverter implements Converter<String, ProductSort> {
+
+	@Override
+	public ProductSort convert(String source) {
+		return ProductSort.fromParameter(source.strip());
+	}
+}
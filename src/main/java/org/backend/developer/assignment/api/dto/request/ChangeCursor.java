@@ -0,0 +1,30 @@
+package org.backend.developer.assignment.api.dto.request;
+
+/**
+ * Position in the product change feed: the writing transaction and the sequence number of the last
+ * change read. Written as {@code <txid>.<seq>}.
+ */
+public record ChangeCursor(long txid, long seq) implements Comparable<ChangeCursor> {
+
+	public static final ChangeCursor START = new ChangeCursor(0, 0);
+
+	public static ChangeCursor parse(String cursor) {
+		final var separator = cursor.indexOf('.');
+		if (separator < 0) {
+			throw new IllegalArgumentException("Invalid change cursor: " + cursor);
+		}
+		return new ChangeCursor(Long.parseLong(cursor, 0, separator, 10),
+				Long.parseLong(cursor, separator + 1, cursor.length(), 10));
+	}
+
+	@Override
+	public int compareTo(ChangeCursor other) {
+		final var byTransaction = Long.compare(txid, other.txid);
+		return byTransaction != 0 ? byTransaction : Long.compare(seq, other.seq);
+	}
+
+	@Override
+	public String toString() {
+		return txid + "." + seq;
+	}
+}
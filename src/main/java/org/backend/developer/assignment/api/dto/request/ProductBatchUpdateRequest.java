@@ -0,0 +1,13 @@
+package org.backend.developer.assignment.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public record ProductBatchUpdateRequest(
+		@NotNull
+		Long id,
+		@NotNull
+		@Valid
+		ProductRequest product
+) {
+}
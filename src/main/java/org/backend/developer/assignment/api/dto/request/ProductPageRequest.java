@@ -0,0 +1,45 @@
+package org.backend.developer.assignment.api.dto.request;
+
+import jakarta.validation.constraints.AssertTrue;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters, order and keyset position of one page of a product listing.
+ *
+ * @param minPrice       lowest price to include, or {@code null}
+ * @param maxPrice       highest price to include, or {@code null}
+ * @param nameStartsWith case-insensitive name prefix, or {@code null}
+ * @param sort           order of the listing
+ * @param after          id of the last product of the previous page, {@code 0} for the first page
+ * @param afterPrice     price of the last product of the previous page when sorting by price,
+ *                       {@code null} for the first page
+ */
+public record ProductPageRequest(
+		BigDecimal minPrice,
+		BigDecimal maxPrice,
+		String nameStartsWith,
+		ProductSort sort,
+		long after,
+		BigDecimal afterPrice
+) {
+
+	public static ProductPageRequest after(long after) {
+		return new ProductPageRequest(null, null, null, ProductSort.ID, after, null);
+	}
+
+	/**
+	 * @return whether the keyset position is complete: continuing a price order needs the price as well as the id
+	 */
+	@AssertTrue(message = "afterPrice is required to continue after a product when sorting by price")
+	public boolean isKeysetComplete() {
+		return !sort.byPrice() || after <= 0 || afterPrice != null;
+	}
+
+	/**
+	 * @return whether this is a plain listing in id order, without filters
+	 */
+	public boolean isUnfiltered() {
+		return minPrice == null && maxPrice == null && nameStartsWith == null && sort == ProductSort.ID;
+	}
+}
@@ -1,17 +1,22 @@
 package org.backend.developer.assignment.api.dto.request;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
+import java.math.BigDecimal;
+
 public record ProductRequest(
 		@NotBlank(message = "Product name must not be empty")
 		@Size(min = 1, max = 100)
 		String name,
+		@Size(max = 255)
 		String description,
 		@NotNull
 		@Min(value = 0, message = "Price must be greater than or equal to 0")
-		Double price
+		@Digits(integer = 10, fraction = 2, message = "Price must have at most 10 integer digits and 2 decimals")
+		BigDecimal price
 ) {
 }
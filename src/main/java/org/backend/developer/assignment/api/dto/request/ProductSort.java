@@ -0,0 +1,34 @@
+package org.backend.developer.assignment.api.dto.request;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Order of a product listing. Every order ends with the id, so pages can be continued by keyset.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProductSort {
+
+	ID("id"),
+	PRICE("price"),
+	PRICE_DESC("-price");
+
+	/**
+	 * Value of the {@code sort} request parameter.
+	 */
+	private final String parameter;
+
+	public boolean byPrice() {
+		return this != ID;
+	}
+
+	public static ProductSort fromParameter(String parameter) {
+		for (ProductSort sort : values()) {
+			if (sort.parameter.equals(parameter)) {
+				return sort;
+			}
+		}
+		throw new IllegalArgumentException("Unknown sort: " + parameter);
+	}
+}
@@ -0,0 +1,4 @@
+package org.backend.developer.assignment.api.dto.response;
+
+public record BatchItemError(int index, String message) {
+}
@@ -0,0 +1,10 @@
+package org.backend.developer.assignment.api.dto.response;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch operation. Items that succeeded keep their relative request order,
+ * items that failed are reported by their index in the request.
+ */
+public record BatchResponse<T>(List<T> succeeded, List<BatchItemError> errors) {
+}
@@ -0,0 +1,62 @@
+package org.backend.developer.assignment.api.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes a price with exactly two decimals, e.g. {@code 12.50}. In JSON, a price of at most two decimals is written
+ * as its digits from a per-thread buffer, without the plain string Jackson would build for every price of a
+ * listing; the unscaled value of the price is the only allocation left. Binary formats, and prices with more
+ * decimals or more digits than a {@code long} holds in cents, go through
+ * {@link JsonGenerator#writeNumber(BigDecimal)}; {@code spring.jackson.generator.write-bigdecimal-as-plain}
+ * keeps them free of exponents.
+ */
+public class PriceSerializer extends StdSerializer<BigDecimal> {
+
+	private static final int SCALE = 2;
+	/**
+	 * integer digits whose cents always fit in a {@code long}
+	 */
+	private static final int MAX_INTEGER_DIGITS = 16;
+	private static final long[] CENTS_PER_UNIT = {100, 10, 1};
+
+	// sign, digits and decimal point of the largest price written from the buffer
+	private static final ThreadLocal<char[]> DIGITS =
+			ThreadLocal.withInitial(() -> new char[MAX_INTEGER_DIGITS + SCALE + 2]);
+
+	public PriceSerializer() {
+		super(BigDecimal.class);
+	}
+
+	@Override
+	public void serialize(BigDecimal price, JsonGenerator generator, SerializerProvider provider) throws IOException {
+		final var scale = price.scale();
+		if (generator.canWriteBinaryNatively() || scale < 0 || scale > SCALE
+				|| price.precision() - scale > MAX_INTEGER_DIGITS) {
+			generator.writeNumber(scale < SCALE ? price.setScale(SCALE) : price);
+			return;
+		}
+
+		final var cents = price.unscaledValue().longValue() * CENTS_PER_UNIT[scale];
+		final var digits = DIGITS.get();
+		var value = Math.abs(cents);
+		var start = digits.length;
+		for (int i = 0; i < SCALE; i++) {
+			digits[--start] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		digits[--start] = '.';
+		do {
+			digits[--start] = (char) ('0' + value % 10);
+			value /= 10;
+		} while (value != 0);
+		if (cents < 0) {
+			digits[--start] = '-';
+		}
+		generator.writeRawValue(digits, start, digits.length - start);
+	}
+}
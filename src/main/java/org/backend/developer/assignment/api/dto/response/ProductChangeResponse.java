@@ -0,0 +1,18 @@
+package org.backend.developer.assignment.api.dto.response;
+
+import org.backend.developer.assignment.model.ProductChangeOperation;
+
+import java.time.Instant;
+
+/**
+ * @param cursor  position of this change, to resume the feed after it
+ * @param product the current state of the product, {@code null} if it no longer exists
+ */
+public record ProductChangeResponse(
+		String cursor,
+		long productId,
+		ProductChangeOperation operation,
+		Instant changedAt,
+		ProductResponse product
+) {
+}
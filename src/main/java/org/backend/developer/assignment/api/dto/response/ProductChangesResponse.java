@@ -0,0 +1,10 @@
+package org.backend.developer.assignment.api.dto.response;
+
+import java.util.List;
+
+/**
+ * @param changes the changes after the requested cursor, oldest first
+ * @param cursor  the cursor to request the following changes with
+ */
+public record ProductChangesResponse(List<ProductChangeResponse> changes, String cursor) {
+}
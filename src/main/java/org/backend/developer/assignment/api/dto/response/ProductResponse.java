@@ -1,4 +1,9 @@
 package org.backend.developer.assignment.api.dto.response;
 
-public record ProductResponse(long id, String name, String description, Double price) {
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+
+public record ProductResponse(long id, String name, String description,
+                              @JsonSerialize(using = PriceSerializer.class) BigDecimal price, long version) {
 }
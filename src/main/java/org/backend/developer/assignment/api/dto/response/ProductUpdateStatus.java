@@ -0,0 +1,23 @@
+package org.backend.developer.assignment.api.dto.response;
+
+/**
+ * Progress of an update accepted for asynchronous writing.
+ */
+public enum ProductUpdateStatus {
+	/**
+	 * Waiting to be written.
+	 */
+	PENDING,
+	/**
+	 * Written to the database.
+	 */
+	APPLIED,
+	/**
+	 * Replaced by a later update of the same product before it was written.
+	 */
+	SUPERSEDED,
+	/**
+	 * Not written, because the product did not exist any more.
+	 */
+	NOT_FOUND
+}
@@ -0,0 +1,7 @@
+package org.backend.developer.assignment.api.dto.response;
+
+/**
+ * Tracks an update accepted for asynchronous writing.
+ */
+public record ProductUpdateTicket(String token, long productId, ProductUpdateStatus status) {
+}
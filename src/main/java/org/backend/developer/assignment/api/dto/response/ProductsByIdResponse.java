@@ -0,0 +1,10 @@
+package org.backend.developer.assignment.api.dto.response;
+
+import java.util.List;
+
+/**
+ * @param products   the products found, in the order their ids were requested
+ * @param missingIds the requested ids that match no product, in request order
+ */
+public record ProductsByIdResponse(List<ProductResponse> products, List<Long> missingIds) {
+}
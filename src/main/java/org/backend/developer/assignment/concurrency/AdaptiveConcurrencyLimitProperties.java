@@ -0,0 +1,27 @@
+package org.backend.developer.assignment.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled          whether product API requests are shed above an adaptive concurrency limit
+ * @param initialLimit     concurrency limit at startup
+ * @param minLimit         lowest limit, kept however slow the database gets
+ * @param maxLimit         highest limit
+ * @param latencyThreshold {@code ProductRepository} call latency above which the limit is cut
+ * @param backoffRatio     factor the limit is multiplied by when it is cut
+ * @param retryAfter       delay suggested to rejected clients through the {@code Retry-After} header
+ */
+@ConfigurationProperties(prefix = "product.concurrency-limit")
+public record AdaptiveConcurrencyLimitProperties(
+		@DefaultValue("false") boolean enabled,
+		@DefaultValue("50") int initialLimit,
+		@DefaultValue("10") int minLimit,
+		@DefaultValue("400") int maxLimit,
+		@DefaultValue("250ms") Duration latencyThreshold,
+		@DefaultValue("0.9") double backoffRatio,
+		@DefaultValue("1s") Duration retryAfter
+) {
+}
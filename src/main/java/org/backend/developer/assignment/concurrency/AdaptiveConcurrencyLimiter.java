@@ -0,0 +1,105 @@
+package org.backend.developer.assignment.concurrency;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.backend.developer.assignment.exception.ServiceOverloadedException;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.backend.developer.assignment.repository.ProductRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps how many product API requests run at once, with a limit that follows {@link ProductRepository} latency
+ * (additive increase, multiplicative decrease): a repository call slower than the threshold, or failing for
+ * lack of database resources, cuts the limit by the backoff ratio, and a fast call made while at least half
+ * of the limit is in use raises it by one. The limit is cut at most once per latency threshold: the calls
+ * that were already running when the database slowed down report the same congestion, and cutting for each
+ * of them would collapse the limit to its minimum in one burst. Requests over the limit fail fast with a
+ * {@link ServiceOverloadedException} instead of queueing behind a database that is already slow.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.concurrency-limit", name = "enabled")
+public class AdaptiveConcurrencyLimiter implements RepositoryMethodInvocationListener {
+
+	private final AdaptiveConcurrencyLimitProperties properties;
+	private final ProductMetrics metrics;
+	private final long latencyThresholdNanos;
+	private final AtomicInteger limit;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicLong lastCutAt;
+
+	public AdaptiveConcurrencyLimiter(AdaptiveConcurrencyLimitProperties properties, ProductMetrics metrics,
+	                                  MeterRegistry registry) {
+		this.properties = properties;
+		this.metrics = metrics;
+		this.latencyThresholdNanos = properties.latencyThreshold().toNanos();
+		this.limit = new AtomicInteger(properties.initialLimit());
+		this.lastCutAt = new AtomicLong(System.nanoTime() - latencyThresholdNanos);
+
+		Gauge.builder("product.concurrency.limit", limit, AtomicInteger::get)
+				.description("Product API requests allowed to run at once")
+				.register(registry);
+		Gauge.builder("product.concurrency.in.flight", inFlight, AtomicInteger::get)
+				.description("Product API requests running")
+				.register(registry);
+	}
+
+	/**
+	 * Admits a request to the endpoint. Every successful call must be paired with {@link #release()}.
+	 *
+	 * @throws ServiceOverloadedException if the limit is reached
+	 */
+	public void acquire(String endpoint) {
+		if (inFlight.incrementAndGet() > limit.get()) {
+			inFlight.decrementAndGet();
+			metrics.requestRejected(endpoint, "concurrency_limit");
+			throw new ServiceOverloadedException("Too many requests in progress", properties.retryAfter());
+		}
+	}
+
+	public void release() {
+		inFlight.decrementAndGet();
+	}
+
+	public int limit() {
+		return limit.get();
+	}
+
+	public int inFlight() {
+		return inFlight.get();
+	}
+
+	@Override
+	public void afterInvocation(RepositoryMethodInvocation invocation) {
+		afterInvocation(invocation, System.nanoTime());
+	}
+
+	void afterInvocation(RepositoryMethodInvocation invocation, long nanoTime) {
+		if (!ProductRepository.class.isAssignableFrom(invocation.getRepositoryInterface())) {
+			return;
+		}
+
+		final var error = invocation.getResult().getError();
+		if (invocation.getDuration(NANOSECONDS) > latencyThresholdNanos
+				|| error instanceof TransientDataAccessException || error instanceof DataAccessResourceFailureException) {
+			cut(nanoTime);
+		} else if (inFlight.get() * 2 >= limit.get()) {
+			limit.updateAndGet(current -> Math.min(properties.maxLimit(), current + 1));
+		}
+	}
+
+	private void cut(long nanoTime) {
+		final var cutAt = lastCutAt.get();
+		if (nanoTime - cutAt >= latencyThresholdNanos && lastCutAt.compareAndSet(cutAt, nanoTime)) {
+			limit.updateAndGet(current -> Math.max(properties.minLimit(), (int) (current * properties.backoffRatio())));
+		}
+	}
+}
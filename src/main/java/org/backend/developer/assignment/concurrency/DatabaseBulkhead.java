@@ -0,0 +1,72 @@
+package org.backend.developer.assignment.concurrency;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.backend.developer.assignment.exception.ServiceOverloadedException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits how many operations may use the database at once, so that a large number of
+ * (virtual) request threads queue here with a bounded wait instead of piling up on the connection pool.
+ * When the queue is full, or a permit is not granted within the configured wait, the call fails fast
+ * with a {@link ServiceOverloadedException}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.bulkhead", name = "enabled")
+public class DatabaseBulkhead {
+
+	private final DatabaseBulkheadProperties properties;
+	private final Semaphore permits;
+	private final AtomicInteger waiting = new AtomicInteger();
+
+	public DatabaseBulkhead(DatabaseBulkheadProperties properties) {
+		this.properties = properties;
+		this.permits = new Semaphore(properties.maxConcurrentCalls(), true);
+	}
+
+	/**
+	 * Takes a permit, waiting for one if needed. Every successful call must be paired with {@link #release()}.
+	 *
+	 * @throws ServiceOverloadedException if the wait queue is full or no permit was granted in time
+	 */
+	public void acquire() {
+		if (permits.tryAcquire()) {
+			return;
+		}
+
+		if (waiting.incrementAndGet() > properties.maxWaitingCalls()) {
+			waiting.decrementAndGet();
+			throw overloaded("Too many requests waiting for a database connection");
+		}
+		try {
+			if (!permits.tryAcquire(properties.maxWait().toNanos(), NANOSECONDS)) {
+				throw overloaded("Timed out waiting for a database connection");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw overloaded("Interrupted while waiting for a database connection");
+		} finally {
+			waiting.decrementAndGet();
+		}
+	}
+
+	public void release() {
+		permits.release();
+	}
+
+	public int availablePermits() {
+		return permits.availablePermits();
+	}
+
+	public int waitingCalls() {
+		return waiting.get();
+	}
+
+	private ServiceOverloadedException overloaded(String message) {
+		return new ServiceOverloadedException(message, properties.retryAfter());
+	}
+}
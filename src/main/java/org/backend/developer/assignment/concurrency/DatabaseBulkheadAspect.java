@@ -0,0 +1,37 @@
+package org.backend.developer.assignment.concurrency;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs every product service call inside the {@link DatabaseBulkhead}.
+ * The gate sits just outside the transaction, because the transaction takes its connection
+ * from the pool when it begins; cached reads are answered before reaching it.
+ * Reactive services are left out: they hold no JDBC connection, and their R2DBC pool queues callers itself.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(prefix = "product.bulkhead", name = "enabled")
+@RequiredArgsConstructor
+public class DatabaseBulkheadAspect {
+
+	private final DatabaseBulkhead bulkhead;
+
+	@Around("execution(* org.backend.developer.assignment.service.*Service.*(..))"
+			+ " && !execution(org.reactivestreams.Publisher+ *(..))")
+	public Object gate(ProceedingJoinPoint joinPoint) throws Throwable {
+		bulkhead.acquire();
+		try {
+			return joinPoint.proceed();
+		} finally {
+			bulkhead.release();
+		}
+	}
+}
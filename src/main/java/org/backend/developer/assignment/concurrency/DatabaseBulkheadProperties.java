@@ -0,0 +1,24 @@
+package org.backend.developer.assignment.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled            whether product operations are gated by the database bulkhead
+ * @param maxConcurrentCalls number of operations allowed to hold a database connection at once,
+ *                           normally the size of the connection pool
+ * @param maxWaitingCalls    number of operations allowed to queue for a permit before new ones fail fast
+ * @param maxWait            how long a queued operation waits for a permit before failing
+ * @param retryAfter         delay suggested to rejected clients through the {@code Retry-After} header
+ */
+@ConfigurationProperties(prefix = "product.bulkhead")
+public record DatabaseBulkheadProperties(
+		@DefaultValue("false") boolean enabled,
+		@DefaultValue("10") int maxConcurrentCalls,
+		@DefaultValue("200") int maxWaitingCalls,
+		@DefaultValue("1s") Duration maxWait,
+		@DefaultValue("1s") Duration retryAfter
+) {
+}
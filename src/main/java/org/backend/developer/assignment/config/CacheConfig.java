@@ -0,0 +1,38 @@
+package org.backend.developer.assignment.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+/**
+ * In-process Caffeine caches (bounded, W-TinyLFU eviction, TTL), configured through {@code spring.cache.*}.
+ * Puts and evictions made inside a transaction are deferred until it commits, so a rolled back
+ * write never reaches the cache. Hit, miss and eviction counters are published as {@code cache.*} metrics.
+ * Caching advice runs right after the metrics aspect, so hits are served without entering the database
+ * bulkhead or a transaction.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+	public static final String PRODUCTS_CACHE = "products";
+
+	@Bean
+	public CacheManager cacheManager(CacheProperties properties) {
+		final var cacheManager = new CaffeineCacheManager();
+		if (StringUtils.hasText(properties.getCaffeine().getSpec())) {
+			cacheManager.setCacheSpecification(properties.getCaffeine().getSpec());
+		}
+		cacheManager.setCacheNames(properties.getCacheNames());
+
+		return new TransactionAwareCacheManagerProxy(cacheManager);
+	}
+}
@@ -0,0 +1,47 @@
+package org.backend.developer.assignment.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.CacheStoreMode;
+import org.backend.developer.assignment.model.Product;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache regions, held in bounded Caffeine caches behind JCache. The regions are created
+ * here rather than by Hibernate, which would leave them unbounded, and each application context gets a cache
+ * manager of its own.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+	@Bean(destroyMethod = "close")
+	public CacheManager entityCacheManager(EntityCacheProperties properties) {
+		final var provider = new CaffeineCachingProvider();
+		final var cacheManager = provider.getCacheManager(provider.getDefaultURI(), provider.getDefaultClassLoader());
+		cacheManager.createCache(Product.CACHE_REGION, new CaffeineConfiguration<>()
+				.setMaximumSize(OptionalLong.of(properties.maximumSize()))
+				.setExpireAfterWrite(OptionalLong.of(properties.expireAfterWrite().toNanos()))
+				// Hibernate caches immutable disassembled state, copying it on every read would be wasted
+				.setStoreByValue(false));
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer entityCacheManagerCustomizer(CacheManager entityCacheManager) {
+		return hibernateProperties -> {
+			hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+			// sessions read the cache but only loads by id fill it, see ProductRepository#findAllById: queries
+			// and streams never put a product there
+			hibernateProperties.put(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+			// Hibernate 6.6 looks the session default up under the legacy name first, where it always finds one
+			hibernateProperties.put(AvailableSettings.JPA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+		};
+	}
+}
@@ -0,0 +1,17 @@
+package org.backend.developer.assignment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maximumSize      number of products kept in the second-level cache
+ * @param expireAfterWrite how long a cached product is served, bounding staleness should an invalidation be lost
+ */
+@ConfigurationProperties(prefix = "product.entity-cache")
+public record EntityCacheProperties(
+		@DefaultValue("10000") long maximumSize,
+		@DefaultValue("5m") Duration expireAfterWrite
+) {
+}
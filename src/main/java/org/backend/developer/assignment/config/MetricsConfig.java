@@ -0,0 +1,30 @@
+package org.backend.developer.assignment.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+/**
+ * Attaches the application's {@link RepositoryMethodInvocationListener}s to every Spring Data repository.
+ */
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public static BeanPostProcessor repositoryInvocationListenersPostProcessor(
+			ObjectProvider<RepositoryMethodInvocationListener> listeners) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+					repositoryFactoryBean.addRepositoryFactoryCustomizer(factory ->
+							listeners.orderedStream().forEach(factory::addInvocationListener));
+				}
+				return bean;
+			}
+		};
+	}
+}
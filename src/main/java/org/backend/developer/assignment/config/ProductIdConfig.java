@@ -0,0 +1,25 @@
+package org.backend.developer.assignment.config;
+
+import org.backend.developer.assignment.id.ProductIdProperties;
+import org.backend.developer.assignment.id.SnowflakeIdGenerator;
+import org.backend.developer.assignment.id.SnowflakeIds;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Assigns new products ids of the node configured by {@code product.id.node-id}, through JPA and R2DBC alike.
+ */
+@Configuration
+public class ProductIdConfig {
+
+	@Bean
+	public SnowflakeIds productIds(ProductIdProperties properties) {
+		return SnowflakeIds.forNode(properties.nodeId());
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer productIdHibernateProperties(ProductIdProperties properties) {
+		return hibernateProperties -> hibernateProperties.put(SnowflakeIdGenerator.NODE_ID, properties.nodeId());
+	}
+}
@@ -0,0 +1,23 @@
+package org.backend.developer.assignment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param window        how long the first id of a batch waits for more ids before the batch is read
+ * @param maxBatchSize  number of ids that makes a batch read right away
+ * @param timeout       how long a caller waits for the batch reading its id before giving up
+ * @param threads       threads reading batches, at most one connection each
+ * @param queueCapacity batches waiting for a thread; beyond it a batch is read on the thread that submitted it
+ */
+@ConfigurationProperties(prefix = "product.loader")
+public record ProductLoaderProperties(
+		@DefaultValue("2ms") Duration window,
+		@DefaultValue("100") int maxBatchSize,
+		@DefaultValue("5s") Duration timeout,
+		@DefaultValue("10") int threads,
+		@DefaultValue("100") int queueCapacity
+) {
+}
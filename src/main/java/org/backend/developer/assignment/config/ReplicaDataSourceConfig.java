@@ -0,0 +1,183 @@
+package org.backend.developer.assignment.config;
+
+import static org.backend.developer.assignment.config.CacheConfig.PRODUCTS_CACHE;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.backend.developer.assignment.datasource.ReplicaDataSourceProperties;
+import org.backend.developer.assignment.datasource.ReplicaLagProbe;
+import org.backend.developer.assignment.datasource.ReplicaRoutingDataSource;
+import org.backend.developer.assignment.event.ProductChangedEvent;
+import org.backend.developer.assignment.event.ProductChangesMissedEvent;
+import org.backend.developer.assignment.event.ProductListingVersion;
+import org.backend.developer.assignment.model.Product;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to PostgreSQL replicas. The application's data source is a
+ * {@link LazyConnectionDataSourceProxy} that takes the physical connection only once the transaction
+ * has declared itself read-only or not: read-only ones get a connection from a
+ * {@link ReplicaRoutingDataSource}, all others from the primary pool configured by {@code spring.datasource.*}.
+ * <p>
+ * Reads may lag the primary by up to {@code max-lag}. A product read from a replica that has not replayed
+ * a change yet could be cached after the change has evicted it, so changed products are evicted again
+ * once the allowed lag has passed. Likewise a listing tagged with the {@link ProductListingVersion} revision
+ * started by the change may hold stale rows, so the revision is advanced again at the same time.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "product.datasource.replicas", name = "enabled")
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+	private final ReplicaDataSourceProperties properties;
+	private final List<HikariDataSource> replicaPools = new ArrayList<>();
+	private ScheduledFuture<?> healthChecks;
+
+	public ReplicaDataSourceConfig(ReplicaDataSourceProperties properties) {
+		this.properties = properties;
+	}
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+		return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+	                                                  DataSourceProperties dataSourceProperties,
+	                                                  TaskScheduler taskScheduler,
+	                                                  ObjectProvider<MeterRegistry> meterRegistry) {
+		final var urls = properties.urls().stream().filter(url -> !url.isBlank()).toList();
+		for (int i = 0; i < urls.size(); i++) {
+			replicaPools.add(replicaPool(i, urls.get(i), dataSourceProperties, meterRegistry.getIfAvailable()));
+		}
+
+		final var routing = new ReplicaRoutingDataSource(primaryDataSource, replicaPools, properties.maxLag(),
+				ReplicaLagProbe.POSTGRESQL);
+		routing.checkReplicas();
+		healthChecks = taskScheduler.scheduleWithFixedDelay(routing::checkReplicas, properties.healthCheckInterval());
+		meterRegistry.ifAvailable(registry -> Gauge.builder("product.datasource.replicas.healthy", routing,
+						ReplicaRoutingDataSource::healthyReplicas)
+				.description("Replicas currently receiving read-only transactions")
+				.register(registry));
+		return routing;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+		final var dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+		dataSource.setReadOnlyDataSource(replicaDataSource);
+		return dataSource;
+	}
+
+	@Bean
+	public ReplicaLagCacheEvictor replicaLagCacheEvictor(CacheManager cacheManager,
+	                                                     EntityManagerFactory entityManagerFactory,
+	                                                     TaskScheduler taskScheduler,
+	                                                     ObjectProvider<ProductListingVersion> listingVersion) {
+		return new ReplicaLagCacheEvictor(cacheManager, entityManagerFactory, taskScheduler,
+				listingVersion.getIfAvailable(),
+				properties.maxLag().plus(properties.healthCheckInterval()));
+	}
+
+	@Override
+	public void destroy() {
+		if (healthChecks != null) {
+			healthChecks.cancel(false);
+		}
+		replicaPools.forEach(HikariDataSource::close);
+	}
+
+	private HikariDataSource replicaPool(int index, String url, DataSourceProperties dataSourceProperties,
+	                                     MeterRegistry meterRegistry) {
+		final var config = new HikariConfig();
+		config.setPoolName("replica-" + index);
+		config.setJdbcUrl(url);
+		config.setUsername(properties.username() != null
+				? properties.username() : dataSourceProperties.determineUsername());
+		config.setPassword(properties.password() != null
+				? properties.password() : dataSourceProperties.determinePassword());
+		config.setMaximumPoolSize(properties.maximumPoolSize());
+		config.setReadOnly(true);
+		// do not fail startup on a replica that is down; the health check keeps it out of rotation
+		config.setInitializationFailTimeout(-1);
+		if (meterRegistry != null) {
+			config.setMetricRegistry(meterRegistry);
+		}
+		return new HikariDataSource(config);
+	}
+
+	/**
+	 * Evicts a changed product, and advances the listing revision, a second time once any replica still
+	 * serving reads has replayed the change.
+	 */
+	public static class ReplicaLagCacheEvictor {
+
+		private final CacheManager cacheManager;
+		private final EntityManagerFactory entityManagerFactory;
+		private final TaskScheduler taskScheduler;
+		private final ProductListingVersion listingVersion;
+		private final Duration delay;
+
+		ReplicaLagCacheEvictor(CacheManager cacheManager, EntityManagerFactory entityManagerFactory,
+		                       TaskScheduler taskScheduler, ProductListingVersion listingVersion, Duration delay) {
+			this.cacheManager = cacheManager;
+			this.entityManagerFactory = entityManagerFactory;
+			this.taskScheduler = taskScheduler;
+			this.listingVersion = listingVersion;
+			this.delay = delay;
+		}
+
+		@EventListener
+		public void onProductChanged(ProductChangedEvent event) {
+			taskScheduler.schedule(() -> {
+				final var cache = cacheManager.getCache(PRODUCTS_CACHE);
+				if (cache != null) {
+					cache.evict(event.productId());
+				}
+				entityManagerFactory.getCache().evict(Product.class, event.productId());
+				advanceListingVersion();
+			}, Instant.now().plus(delay));
+		}
+
+		@EventListener
+		public void onProductChangesMissed(ProductChangesMissedEvent event) {
+			taskScheduler.schedule(() -> {
+				final var cache = cacheManager.getCache(PRODUCTS_CACHE);
+				if (cache != null) {
+					cache.clear();
+				}
+				entityManagerFactory.getCache().evict(Product.class);
+				advanceListingVersion();
+			}, Instant.now().plus(delay));
+		}
+
+		private void advanceListingVersion() {
+			if (listingVersion != null) {
+				listingVersion.advance();
+			}
+		}
+	}
+}
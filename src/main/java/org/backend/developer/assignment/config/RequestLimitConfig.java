@@ -0,0 +1,38 @@
+package org.backend.developer.assignment.config;
+
+import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.api.ProductRequestLimitInterceptor;
+import org.backend.developer.assignment.concurrency.AdaptiveConcurrencyLimiter;
+import org.backend.developer.assignment.ratelimit.RateLimitProperties;
+import org.backend.developer.assignment.ratelimit.RequestRateLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the product API behind the request rate limiter and the adaptive concurrency limiter, when enabled.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class RequestLimitConfig implements WebMvcConfigurer {
+
+	private final ObjectProvider<RequestRateLimiter> rateLimiter;
+	private final ObjectProvider<AdaptiveConcurrencyLimiter> concurrencyLimiter;
+	private final ObjectProvider<RateLimitProperties> rateLimitProperties;
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		final var rateLimiter = this.rateLimiter.getIfAvailable();
+		final var concurrencyLimiter = this.concurrencyLimiter.getIfAvailable();
+		if (rateLimiter == null && concurrencyLimiter == null) {
+			return;
+		}
+
+		final var clientKeyHeader = rateLimiter == null ? null : rateLimitProperties.getObject().clientKeyHeader();
+		registry.addInterceptor(new ProductRequestLimitInterceptor(rateLimiter, concurrencyLimiter, clientKeyHeader))
+				.addPathPatterns("/products", "/products/**");
+	}
+}
@@ -0,0 +1,12 @@
+package org.backend.developer.assignment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the application's {@code @Scheduled} housekeeping, such as pruning the change feed.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
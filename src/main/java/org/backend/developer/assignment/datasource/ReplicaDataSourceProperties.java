@@ -0,0 +1,28 @@
+package org.backend.developer.assignment.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param enabled             whether read-only transactions are sent to the replicas
+ * @param urls                JDBC URLs of the replicas
+ * @param username            replica user, the primary's user when not set
+ * @param password            replica password, the primary's password when not set
+ * @param maximumPoolSize     connections per replica
+ * @param maxLag              replication lag above which a replica stops receiving reads
+ * @param healthCheckInterval pause between two checks of the replicas' health and lag
+ */
+@ConfigurationProperties(prefix = "product.datasource.replicas")
+public record ReplicaDataSourceProperties(
+		@DefaultValue("false") boolean enabled,
+		@DefaultValue List<String> urls,
+		String username,
+		String password,
+		@DefaultValue("10") int maximumPoolSize,
+		@DefaultValue("10s") Duration maxLag,
+		@DefaultValue("5s") Duration healthCheckInterval
+) {
+}
@@ -0,0 +1,41 @@
+package org.backend.developer.assignment.datasource;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+
+/**
+ * Measures how far a replica is behind the primary.
+ */
+@FunctionalInterface
+public interface ReplicaLagProbe {
+
+	/**
+	 * PostgreSQL probe: the time since the last replayed transaction, or zero when the replica is streaming and
+	 * has replayed everything it received, or is not in recovery at all (e.g. a stand-in instance). A replica
+	 * whose WAL receiver is not streaming cannot know what it misses, so it reports the time since its last
+	 * replayed transaction even when it has replayed everything, and an unbounded lag before the first one.
+	 */
+	ReplicaLagProbe POSTGRESQL = replica -> {
+		try (var connection = replica.getConnection();
+		     var statement = connection.createStatement();
+		     var result = statement.executeQuery("""
+				     SELECT CASE
+				         WHEN NOT pg_is_in_recovery() THEN 0
+				         WHEN NOT EXISTS (SELECT FROM pg_stat_wal_receiver WHERE status = 'streaming')
+				             THEN coalesce(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000,
+				                           9223372036854775807)
+				         WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+				         ELSE coalesce(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+				         END::BIGINT""")) {
+			result.next();
+			return Duration.ofMillis(result.getLong(1));
+		}
+	};
+
+	/**
+	 * @return the replication lag of the replica
+	 * @throws SQLException if the replica cannot be reached
+	 */
+	Duration lag(DataSource replica) throws SQLException;
+}
@@ -0,0 +1,123 @@
+package org.backend.developer.assignment.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+/**
+ * Balances connections round-robin across the healthy replicas. A replica is healthy while its
+ * last check succeeded within {@code maxLag}; it is also taken out as soon as a connection to it fails.
+ * Without a healthy replica, connections come from the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+	private final DataSource primary;
+	private final List<Replica> replicas;
+	private final Duration maxLag;
+	private final ReplicaLagProbe lagProbe;
+	private final AtomicInteger next = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, Duration maxLag,
+	                                ReplicaLagProbe lagProbe) {
+		this.primary = primary;
+		this.replicas = replicas.stream().map(Replica::new).toList();
+		this.maxLag = maxLag;
+		this.lagProbe = lagProbe;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return route(DataSource::getConnection);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return route(dataSource -> dataSource.getConnection(username, password));
+	}
+
+	/**
+	 * Probes every replica and updates which ones receive reads.
+	 */
+	public void checkReplicas() {
+		for (Replica replica : replicas) {
+			try {
+				final var lag = lagProbe.lag(replica.dataSource);
+				if (lag.compareTo(maxLag) > 0) {
+					markUnhealthy(replica, "lagging " + lag, null);
+				} else if (!replica.healthy) {
+					replica.healthy = true;
+					log.info("Replica {} is healthy, sending reads to it", replica.dataSource);
+				}
+			} catch (SQLException | RuntimeException e) {
+				markUnhealthy(replica, "health check failed", e);
+			}
+		}
+	}
+
+	public int healthyReplicas() {
+		int healthy = 0;
+		for (Replica replica : replicas) {
+			if (replica.healthy) {
+				healthy++;
+			}
+		}
+		return healthy;
+	}
+
+	private Connection route(ConnectionSource source) throws SQLException {
+		final var replica = nextHealthyReplica();
+		if (replica != null) {
+			try {
+				return source.connect(replica.dataSource);
+			} catch (SQLFeatureNotSupportedException e) {
+				throw e;
+			} catch (SQLException e) {
+				markUnhealthy(replica, "connection failed", e);
+			}
+		}
+		return source.connect(primary);
+	}
+
+	private Replica nextHealthyReplica() {
+		final var size = replicas.size();
+		final var start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+		for (int i = 0; i < size; i++) {
+			final var replica = replicas.get((start + i) % size);
+			if (replica.healthy) {
+				return replica;
+			}
+		}
+		return null;
+	}
+
+	private void markUnhealthy(Replica replica, String reason, Exception cause) {
+		if (replica.healthy) {
+			replica.healthy = false;
+			log.warn("Replica {} is unhealthy ({}), sending its reads elsewhere", replica.dataSource, reason, cause);
+		}
+	}
+
+	@FunctionalInterface
+	private interface ConnectionSource {
+
+		Connection connect(DataSource dataSource) throws SQLException;
+	}
+
+	private static final class Replica {
+
+		private final DataSource dataSource;
+		private volatile boolean healthy;
+
+		private Replica(DataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package org.backend.developer.assignment.event;
+
+import static org.backend.developer.assignment.config.CacheConfig.PRODUCTS_CACHE;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.model.Product;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts products changed on any node from the local product cache and the Hibernate second-level cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCacheInvalidator {
+
+	private final CacheManager cacheManager;
+	private final EntityManagerFactory entityManagerFactory;
+
+	@EventListener
+	public void onProductChanged(ProductChangedEvent event) {
+		final var cache = cacheManager.getCache(PRODUCTS_CACHE);
+		if (cache != null) {
+			cache.evict(event.productId());
+		}
+		entityManagerFactory.getCache().evict(Product.class, event.productId());
+	}
+
+	@EventListener
+	public void onProductChangesMissed(ProductChangesMissedEvent event) {
+		final var cache = cacheManager.getCache(PRODUCTS_CACHE);
+		if (cache != null) {
+			cache.clear();
+		}
+		entityManagerFactory.getCache().evict(Product.class);
+	}
+}
@@ -0,0 +1,116 @@
+package org.backend.developer.assignment.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Keeps a dedicated connection (outside the pool) that {@code LISTEN}s on the channel fed by the
+ * {@code product_change_notify} trigger and republishes every notification as a {@link ProductChangedEvent},
+ * so local state such as caches stays consistent with writes made on other nodes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product.change-listener", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ProductChangeListener implements SmartLifecycle {
+
+	public static final String CHANNEL = "product_changes";
+
+	private final DataSourceProperties dataSourceProperties;
+	private final ProductChangeListenerProperties properties;
+	private final ApplicationEventPublisher eventPublisher;
+
+	private volatile boolean running;
+	private Thread thread;
+
+	@Override
+	public void start() {
+		running = true;
+		thread = Thread.ofPlatform()
+				.name("product-change-listener")
+				.daemon()
+				.start(this::listen);
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		thread.interrupt();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private void listen() {
+		while (running) {
+			try (var connection = connect()) {
+				// anything committed while we were not listening is unknown
+				eventPublisher.publishEvent(new ProductChangesMissedEvent());
+				receive(connection.unwrap(PGConnection.class));
+			} catch (SQLException e) {
+				if (running) {
+					log.warn("Product change listener connection failed, reconnecting in {}",
+							properties.reconnectDelay(), e);
+					pause();
+				}
+			}
+		}
+	}
+
+	private Connection connect() throws SQLException {
+		final var connection = openConnection();
+		try (var statement = connection.createStatement()) {
+			statement.execute("LISTEN " + CHANNEL);
+		}
+		return connection;
+	}
+
+	Connection openConnection() throws SQLException {
+		return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+				dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+	}
+
+	private void receive(PGConnection connection) throws SQLException {
+		final var pollTimeout = Math.toIntExact(properties.pollTimeout().toMillis());
+
+		while (running) {
+			final var notifications = connection.getNotifications(pollTimeout);
+			if (notifications == null) {
+				continue;
+			}
+			for (PGNotification notification : notifications) {
+				publish(notification.getParameter());
+			}
+		}
+	}
+
+	private void publish(String payload) {
+		try {
+			eventPublisher.publishEvent(new ProductChangedEvent(Long.parseLong(payload)));
+		} catch (NumberFormatException e) {
+			log.warn("Unexpected product change payload '{}'", payload);
+			eventPublisher.publishEvent(new ProductChangesMissedEvent());
+		}
+	}
+
+	private void pause() {
+		try {
+			Thread.sleep(properties.reconnectDelay());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
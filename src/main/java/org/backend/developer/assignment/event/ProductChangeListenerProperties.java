@@ -0,0 +1,19 @@
+package org.backend.developer.assignment.event;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled        whether this node listens for product changes made by other nodes
+ * @param pollTimeout    how long a single wait for notifications may block
+ * @param reconnectDelay pause before reconnecting after the listening connection failed
+ */
+@ConfigurationProperties(prefix = "product.change-listener")
+public record ProductChangeListenerProperties(
+		@DefaultValue("true") boolean enabled,
+		@DefaultValue("500ms") Duration pollTimeout,
+		@DefaultValue("5s") Duration reconnectDelay
+) {
+}
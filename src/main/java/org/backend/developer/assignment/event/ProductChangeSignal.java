@@ -0,0 +1,41 @@
+package org.backend.developer.assignment.event;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Wakes up readers of the change feed waiting for new changes. All waiters share one future per
+ * generation, completed by the next product change notification, so waiting costs no thread.
+ */
+@Component
+public class ProductChangeSignal {
+
+	private final AtomicReference<CompletableFuture<Void>> next = new AtomicReference<>(new CompletableFuture<>());
+
+	/**
+	 * Must be taken before reading the feed, so a change committed in between still wakes the caller.
+	 * Callers must not complete the returned future themselves; derive from it with {@code copy()}.
+	 *
+	 * @return a future completed by the next product change
+	 */
+	public CompletableFuture<Void> next() {
+		return next.get();
+	}
+
+	@EventListener
+	public void onProductChanged(ProductChangedEvent event) {
+		signal();
+	}
+
+	@EventListener
+	public void onProductChangesMissed(ProductChangesMissedEvent event) {
+		signal();
+	}
+
+	private void signal() {
+		next.getAndSet(new CompletableFuture<>()).complete(null);
+	}
+}
@@ -0,0 +1,7 @@
+package org.backend.developer.assignment.event;
+
+/**
+ * Published when a committed transaction on any node inserted, updated or deleted the product.
+ */
+public record ProductChangedEvent(long productId) {
+}
@@ -0,0 +1,8 @@
+package org.backend.developer.assignment.event;
+
+/**
+ * Published when product change notifications may have been missed, e.g. after the
+ * listening connection was (re)established. Any locally held product state must be dropped.
+ */
+public record ProductChangesMissedEvent() {
+}
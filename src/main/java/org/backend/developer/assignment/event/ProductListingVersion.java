@@ -0,0 +1,97 @@
+package org.backend.developer.assignment.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.backend.developer.assignment.repository.ProductChangeRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Table-level change marker for product listings, read from the database with
+ * {@link ProductChangeRepository#findListingMarker()}, so every node, and every restart, tags the same data
+ * the same way. An unchanged marker means no listing has changed and a polling client can be answered
+ * without querying the table: the marker is read again only after a product change reported by the
+ * {@link ProductChangeListener}, in the background, and until then listings are not tagged at all.
+ * <p>
+ * It is as current as the change notifications: a change shows up once its notification has arrived,
+ * and anything committed while the listener is reconnecting shows up when it is back. With read replicas a
+ * listing read right after a change may still come from a replica that has not replayed it, so the replica
+ * configuration {@linkplain #advance() advances} the revision again once the allowed replica lag has passed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product.change-listener", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ProductListingVersion {
+
+	private final ProductChangeRepository productChangeRepository;
+	private final TaskScheduler taskScheduler;
+
+	private final AtomicLong revision = new AtomicLong();
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+	private volatile Marker marker;
+
+	/**
+	 * The tag is weak: it stands for every encoding of every listing, and a strong tag would stop
+	 * the server from compressing the response.
+	 *
+	 * @return a weak entity tag for the current state of the product table, or {@code null} while it is
+	 * being read again after a change
+	 */
+	public String etag() {
+		if (!isCurrent(marker)) {
+			refresh();
+		}
+		final var current = marker;
+		return isCurrent(current) ? current.etag() : null;
+	}
+
+	/**
+	 * Starts a new revision: the marker is read again before any listing is tagged.
+	 */
+	public void advance() {
+		revision.incrementAndGet();
+		refresh();
+	}
+
+	@EventListener
+	public void onProductChanged(ProductChangedEvent event) {
+		advance();
+	}
+
+	@EventListener
+	public void onProductChangesMissed(ProductChangesMissedEvent event) {
+		advance();
+	}
+
+	private boolean isCurrent(Marker current) {
+		return current != null && current.revision() == revision.get();
+	}
+
+	private void refresh() {
+		// a burst of changes reads the marker once
+		if (refreshing.compareAndSet(false, true)) {
+			taskScheduler.schedule(this::readMarker, Instant.now());
+		}
+	}
+
+	private void readMarker() {
+		refreshing.set(false);
+		// a change while reading leaves the marker behind the revision, so it is read again
+		final var readRevision = revision.get();
+		try {
+			marker = new Marker(readRevision, "W/\"" + productChangeRepository.findListingMarker() + "\"");
+		} catch (RuntimeException e) {
+			log.warn("Reading the product listing marker failed, listings stay untagged", e);
+		}
+	}
+
+	private record Marker(long revision, String etag) {
+	}
+}
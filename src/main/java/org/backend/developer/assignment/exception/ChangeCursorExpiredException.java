@@ -0,0 +1,12 @@
+package org.backend.developer.assignment.exception;
+
+/**
+ * Thrown when the changes following a cursor have already been pruned from the change feed.
+ * The client has to resynchronize from a full listing.
+ */
+public class ChangeCursorExpiredException extends RuntimeException {
+
+	public ChangeCursorExpiredException(String message) {
+		super(message, null, false, false);
+	}
+}
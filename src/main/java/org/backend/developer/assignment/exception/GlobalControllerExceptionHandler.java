@@ -1,25 +1,82 @@
 package org.backend.developer.assignment.exception;
 
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import org.apache.coyote.BadRequestException;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+
+import java.time.Duration;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalControllerExceptionHandler {
 
+	private final ProductMetrics productMetrics;
+
 	@ExceptionHandler(BadRequestException.class)
 	@ResponseStatus(HttpStatus.BAD_REQUEST)
 	public ResponseEntity<String> handleBadRequest(RuntimeException ex) {
+		productMetrics.validationFailure(ex.getClass());
 		return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
 	}
 
 	@ExceptionHandler(ConstraintViolationException.class)
 	@ResponseStatus(HttpStatus.BAD_REQUEST)
 	public ResponseEntity<String> handleConstraintViolation(RuntimeException ex) {
+		productMetrics.validationFailure(ex.getClass());
 		return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
 	}
+
+	@ExceptionHandler({MethodArgumentNotValidException.class, HandlerMethodValidationException.class})
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ResponseEntity<String> handleMethodValidation(Exception ex) {
+		productMetrics.validationFailure(ex.getClass());
+		return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+	}
+
+	@ExceptionHandler(ProductNotFoundException.class)
+	@ResponseStatus(HttpStatus.NOT_FOUND)
+	public ResponseEntity<Void> handleProductNotFound() {
+		return ResponseEntity.notFound().build();
+	}
+
+	@ExceptionHandler(ProductVersionMismatchException.class)
+	@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+	public ResponseEntity<String> handleVersionMismatch(ProductVersionMismatchException ex) {
+		return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+	}
+
+	@ExceptionHandler(ChangeCursorExpiredException.class)
+	@ResponseStatus(HttpStatus.GONE)
+	public ResponseEntity<String> handleChangeCursorExpired(ChangeCursorExpiredException ex) {
+		return new ResponseEntity<>(ex.getMessage(), HttpStatus.GONE);
+	}
+
+	@ExceptionHandler(ServiceOverloadedException.class)
+	@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+	public ResponseEntity<String> handleServiceOverloaded(ServiceOverloadedException ex) {
+		return retryLater(HttpStatus.SERVICE_UNAVAILABLE, ex.getRetryAfter(), ex.getMessage());
+	}
+
+	@ExceptionHandler(RateLimitExceededException.class)
+	@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+	public ResponseEntity<String> handleRateLimitExceeded(RateLimitExceededException ex) {
+		return retryLater(HttpStatus.TOO_MANY_REQUESTS, ex.getRetryAfter(), ex.getMessage());
+	}
+
+	private static ResponseEntity<String> retryLater(HttpStatus status, Duration retryAfter, String message) {
+		// Retry-After is in whole seconds; rounded up so that a retry is not rejected again right away
+		final var retryAfterSeconds = Math.max(1, retryAfter.plusNanos(999_999_999).toSeconds());
+		return ResponseEntity.status(status)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+				.body(message);
+	}
 }
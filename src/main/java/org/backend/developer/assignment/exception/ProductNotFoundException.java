@@ -1,14 +1,12 @@
 package org.backend.developer.assignment.exception;
 
-public class ProductNotFoundException extends Exception {
-	public ProductNotFoundException() {
-	}
+/**
+ * Thrown when no product has the requested id. Lookups of missing ids are common (stale links, id scans),
+ * so the exception records no stack trace and a single instance can be thrown for every miss.
+ */
+public class ProductNotFoundException extends RuntimeException {
 
 	public ProductNotFoundException(String message) {
-		super(message);
-	}
-
-	public ProductNotFoundException(String message, Throwable cause) {
-		super(message, cause);
+		super(message, null, false, false);
 	}
 }
@@ -0,0 +1,11 @@
+package org.backend.developer.assignment.exception;
+
+/**
+ * Thrown when a conditional write expected a product version other than the current one.
+ */
+public class ProductVersionMismatchException extends RuntimeException {
+
+	public ProductVersionMismatchException(String message) {
+		super(message, null, false, false);
+	}
+}
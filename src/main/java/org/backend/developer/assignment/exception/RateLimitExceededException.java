@@ -0,0 +1,20 @@
+package org.backend.developer.assignment.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is rejected because its client, or the endpoint, has used up its request budget.
+ * Carries the delay after which the budget allows the request again.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+	private final Duration retryAfter;
+
+	public RateLimitExceededException(String message, Duration retryAfter) {
+		super(message, null, false, false);
+		this.retryAfter = retryAfter;
+	}
+}
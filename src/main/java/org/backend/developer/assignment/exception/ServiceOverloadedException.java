@@ -0,0 +1,20 @@
+package org.backend.developer.assignment.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed because the service cannot take more load right now.
+ * Carries the delay after which the client may retry.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+	private final Duration retryAfter;
+
+	public ServiceOverloadedException(String message, Duration retryAfter) {
+		super(message, null, false, false);
+		this.retryAfter = retryAfter;
+	}
+}
@@ -0,0 +1,32 @@
+package org.backend.developer.assignment.export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param enabled         whether the catalog export is prepared and served
+ * @param directory       where snapshot files are written, {@code product-export} in the temporary directory
+ *                        by default; each instance uses a directory of its own inside it
+ * @param refreshInterval how often to check whether the snapshot has to be rewritten
+ * @param maxAge          age at which the snapshot is rewritten even without a change notification,
+ *                        e.g. when the change listener is disabled
+ * @param retryAfter      delay suggested through the {@code Retry-After} header while the first snapshot is written
+ */
+@ConfigurationProperties(prefix = "product.export")
+public record ProductExportProperties(
+		@DefaultValue("true") boolean enabled,
+		Path directory,
+		@DefaultValue("1m") Duration refreshInterval,
+		@DefaultValue("1h") Duration maxAge,
+		@DefaultValue("10s") Duration retryAfter
+) {
+
+	public ProductExportProperties {
+		if (directory == null) {
+			directory = Path.of(System.getProperty("java.io.tmpdir"), "product-export");
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package org.backend.developer.assignment.export;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * A published catalog export: every product as a line of JSON, in id order, gzip-compressed.
+ *
+ * @param file      the snapshot file, never modified once published
+ * @param etag      strong entity tag derived from the file's bytes, so equal snapshots of any node share it
+ * @param createdAt when the products were read
+ * @param size      length of the file in bytes
+ */
+public record ProductSnapshot(Path file, String etag, Instant createdAt, long size) {
+}
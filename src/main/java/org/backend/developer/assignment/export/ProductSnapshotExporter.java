@@ -0,0 +1,152 @@
+package org.backend.developer.assignment.export;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.event.ProductChangedEvent;
+import org.backend.developer.assignment.event.ProductChangesMissedEvent;
+import org.backend.developer.assignment.service.ProductService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Prepares the catalog export in the background, so that bulk consumers are served a file instead of a
+ * table scan and JSON encoding per request. The snapshot is rewritten when products have changed since it
+ * was taken, checked every {@code product.export.refresh-interval}, and at the latest after
+ * {@code product.export.max-age}.
+ * <p>
+ * A new snapshot is written to a temporary file and published by renaming it. The file it replaces stays on
+ * disk until the next one is published, so that transfers already set up for it can still open it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product.export", name = "enabled", matchIfMissing = true)
+public class ProductSnapshotExporter {
+
+	private static final String FILE_PREFIX = "products-";
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+	private static final String FILE_SUFFIX = ".ndjson.gz";
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final ProductService productService;
+	private final ObjectMapper objectMapper;
+	private final ObjectWriter writer;
+	private final ProductExportProperties properties;
+	private final Path directory;
+	// set first, so that the first refresh writes a snapshot
+	private final AtomicBoolean changed = new AtomicBoolean(true);
+	private volatile ProductSnapshot current;
+	private ProductSnapshot previous;
+
+	public ProductSnapshotExporter(ProductService productService, ObjectMapper objectMapper,
+	                               ProductExportProperties properties) throws IOException {
+		this.productService = productService;
+		this.objectMapper = objectMapper;
+		this.writer = objectMapper.writerFor(ProductResponse.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		this.properties = properties;
+		this.directory = Files.createTempDirectory(Files.createDirectories(properties.directory()), "snapshots-");
+	}
+
+	/**
+	 * @return the latest snapshot, or empty until the first one has been written
+	 */
+	public Optional<ProductSnapshot> current() {
+		return Optional.ofNullable(current);
+	}
+
+	@EventListener
+	public void onProductChanged(ProductChangedEvent event) {
+		changed.set(true);
+	}
+
+	@EventListener
+	public void onProductChangesMissed(ProductChangesMissedEvent event) {
+		changed.set(true);
+	}
+
+	@Scheduled(fixedDelayString = "${product.export.refresh-interval:1m}")
+	public void refresh() {
+		final var snapshot = current;
+		if (snapshot != null && !changed.get() && snapshot.createdAt().plus(properties.maxAge()).isAfter(Instant.now())) {
+			return;
+		}
+
+		// cleared before reading, so that a change made meanwhile is picked up by the next refresh
+		changed.set(false);
+		try {
+			publish(write());
+		} catch (IOException | RuntimeException e) {
+			changed.set(true);
+			log.warn("Failed to write the product export snapshot, keeping the previous one", e);
+		}
+	}
+
+	ProductSnapshot write() throws IOException {
+		final var createdAt = Instant.now();
+		final var checksum = new CRC32C();
+		final var temporaryFile = Files.createTempFile(directory, FILE_PREFIX, TEMPORARY_SUFFIX);
+		try {
+			try (var output = new GZIPOutputStream(new CheckedOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temporaryFile), BUFFER_SIZE), checksum), BUFFER_SIZE);
+			     var generator = objectMapper.createGenerator(output)) {
+				generator.setRootValueSeparator(null);
+				productService.streamProducts(product -> writeLine(generator, product));
+			}
+
+			final var temporaryName = temporaryFile.getFileName().toString();
+			final var file = temporaryFile.resolveSibling(
+					temporaryName.substring(0, temporaryName.length() - TEMPORARY_SUFFIX.length()) + FILE_SUFFIX);
+			Files.move(temporaryFile, file, ATOMIC_MOVE);
+			final var size = Files.size(file);
+			final var etag = "\"" + Long.toString(checksum.getValue(), 36) + "-" + Long.toString(size, 36) + "\"";
+			return new ProductSnapshot(file, etag, createdAt, size);
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	private synchronized void publish(ProductSnapshot snapshot) throws IOException {
+		if (previous != null) {
+			Files.deleteIfExists(previous.file());
+		}
+		previous = current;
+		current = snapshot;
+		log.info("Published product export snapshot {} ({} bytes)", snapshot.file().getFileName(), snapshot.size());
+	}
+
+	@PreDestroy
+	public void deleteSnapshots() throws IOException {
+		FileSystemUtils.deleteRecursively(directory);
+	}
+
+	private void writeLine(JsonGenerator generator, ProductResponse product) {
+		try {
+			writer.writeValue(generator, product);
+			generator.writeRaw('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
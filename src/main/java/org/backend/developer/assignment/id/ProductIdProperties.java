@@ -0,0 +1,14 @@
+package org.backend.developer.assignment.id;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param nodeId node bits of the ids this instance assigns to new products, between {@code 0} and
+ *               {@value SnowflakeIds#MAX_NODE_ID}; instances writing to the same database need distinct node ids
+ */
+@ConfigurationProperties(prefix = "product.id")
+public record ProductIdProperties(
+		@DefaultValue("0") int nodeId
+) {
+}
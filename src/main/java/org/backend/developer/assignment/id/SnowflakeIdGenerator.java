@@ -0,0 +1,38 @@
+package org.backend.developer.assignment.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * Hibernate side of {@link SnowflakeId}: assigns ids of the node given by the {@value #NODE_ID} Hibernate property,
+ * which {@code ProductIdConfig} sets from {@code product.id.node-id}.
+ */
+public class SnowflakeIdGenerator implements BeforeExecutionGenerator {
+
+	public static final String NODE_ID = "product.id.node-id";
+
+	private final SnowflakeIds ids;
+
+	public SnowflakeIdGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+		final var settings = context.getServiceRegistry().requireService(ConfigurationService.class).getSettings();
+		this.ids = SnowflakeIds.forNode(Integer.parseInt(String.valueOf(settings.getOrDefault(NODE_ID, 0))));
+	}
+
+	@Override
+	public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+	                       EventType eventType) {
+		return ids.nextId();
+	}
+
+	@Override
+	public EnumSet<EventType> getEventTypes() {
+		return EventTypeSets.INSERT_ONLY;
+	}
+}
@@ -20,8 +20,10 @@ public interface ProductMapper {
 	ProductResponse from(Product product);
 
 	@Mapping(target = "id", ignore = true)
+	@Mapping(target = "version", ignore = true)
 	Product to(ProductRequest product);
 
 	@Mapping(target = "id", ignore = true)
+	@Mapping(target = "version", ignore = true)
 	void updateEntity(@MappingTarget Product entity, ProductRequest request);
 }
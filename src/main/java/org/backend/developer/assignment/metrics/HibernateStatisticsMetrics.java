@@ -0,0 +1,92 @@
+package org.backend.developer.assignment.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hibernate session factory statistics as {@code hibernate.*} meters: how many entities and statements the
+ * persistence layer handles per request, how well the query plan cache covers the queries it runs, and how
+ * often each second-level cache region answers a load and how many entries it holds.
+ * Collecting them costs a little on every operation, so they are only gathered with
+ * {@code spring.jpa.properties.hibernate.generate_statistics=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+	private final Statistics statistics;
+	private final CacheManager entityCacheManager;
+
+	public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory, CacheManager entityCacheManager) {
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.entityCacheManager = entityCacheManager;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		counter(registry, "hibernate.entities.loaded", "Entities loaded from result sets",
+				Statistics::getEntityLoadCount);
+		counter(registry, "hibernate.entities.fetched", "Entities fetched by separate selects",
+				Statistics::getEntityFetchCount);
+		counter(registry, "hibernate.entities.inserted", "Entities inserted", Statistics::getEntityInsertCount);
+		counter(registry, "hibernate.entities.updated", "Entities updated", Statistics::getEntityUpdateCount);
+		counter(registry, "hibernate.entities.deleted", "Entities deleted", Statistics::getEntityDeleteCount);
+		counter(registry, "hibernate.statements.prepared", "JDBC statements prepared",
+				Statistics::getPrepareStatementCount);
+		counter(registry, "hibernate.queries.executed", "HQL and native queries executed",
+				Statistics::getQueryExecutionCount);
+		counter(registry, "hibernate.flushes", "Session flushes", Statistics::getFlushCount);
+		counter(registry, "hibernate.sessions.opened", "Sessions opened", Statistics::getSessionOpenCount);
+		FunctionCounter.builder("hibernate.query.plan.cache", statistics, Statistics::getQueryPlanCacheHitCount)
+				.description("Lookups of compiled query plans")
+				.tag("result", "hit")
+				.register(registry);
+		FunctionCounter.builder("hibernate.query.plan.cache", statistics, Statistics::getQueryPlanCacheMissCount)
+				.description("Lookups of compiled query plans")
+				.tag("result", "miss")
+				.register(registry);
+		Gauge.builder("hibernate.query.execution.max", statistics, Statistics::getQueryExecutionMaxTime)
+				.description("Longest query execution so far")
+				.baseUnit("milliseconds")
+				.register(registry);
+
+		for (final var region : statistics.getSecondLevelCacheRegionNames()) {
+			final var regionStatistics = statistics.getDomainDataRegionStatistics(region);
+			FunctionCounter.builder("hibernate.second.level.cache.requests", regionStatistics, CacheRegionStatistics::getHitCount)
+					.description("Lookups of entities in a second-level cache region")
+					.tags("region", region, "result", "hit")
+					.register(registry);
+			FunctionCounter.builder("hibernate.second.level.cache.requests", regionStatistics, CacheRegionStatistics::getMissCount)
+					.description("Lookups of entities in a second-level cache region")
+					.tags("region", region, "result", "miss")
+					.register(registry);
+			FunctionCounter.builder("hibernate.second.level.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+					.description("Entities put into a second-level cache region")
+					.tag("region", region)
+					.register(registry);
+			final Cache<?, ?> cache = entityCacheManager.getCache(region).unwrap(Cache.class);
+			Gauge.builder("hibernate.second.level.cache.size", cache, Cache::estimatedSize)
+					.description("Entities held by a second-level cache region")
+					.tag("region", region)
+					.register(registry);
+		}
+	}
+
+	private void counter(MeterRegistry registry, String name, String description, ToDoubleFunction<Statistics> count) {
+		FunctionCounter.builder(name, statistics, count)
+				.description(description)
+				.register(registry);
+	}
+}
@@ -0,0 +1,69 @@
+package org.backend.developer.assignment.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers with percentile histograms for the methods of one component, tagged by method and exception.
+ * Each timer is registered on first use and then looked up by identity, so recording a call
+ * does not build tags or allocate.
+ */
+final class OperationTimers {
+
+	private static final String NO_EXCEPTION = "none";
+
+	private final MeterRegistry registry;
+	private final String name;
+	private final String description;
+	private final ConcurrentMap<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+	OperationTimers(MeterRegistry registry, String name, String description) {
+		this.registry = registry;
+		this.name = name;
+		this.description = description;
+	}
+
+	void record(Method method, long durationNanos, Throwable error) {
+		var methodTimers = timers.get(method);
+		if (methodTimers == null) {
+			methodTimers = timers.computeIfAbsent(method, MethodTimers::new);
+		}
+
+		final var timer = error == null ? methodTimers.success : methodTimers.failure(error.getClass());
+		timer.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private Timer register(String method, String exception) {
+		return Timer.builder(name)
+				.description(description)
+				.tag("method", method)
+				.tag("exception", exception)
+				.publishPercentileHistogram()
+				.register(registry);
+	}
+
+	private final class MethodTimers {
+
+		private final String method;
+		private final Timer success;
+		private final ConcurrentMap<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+		private MethodTimers(Method method) {
+			this.method = method.getName();
+			this.success = register(this.method, NO_EXCEPTION);
+		}
+
+		private Timer failure(Class<?> exceptionType) {
+			final var timer = failures.get(exceptionType);
+			if (timer != null) {
+				return timer;
+			}
+			return failures.computeIfAbsent(exceptionType, type -> register(method, type.getSimpleName()));
+		}
+	}
+}
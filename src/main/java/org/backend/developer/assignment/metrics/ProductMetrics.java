@@ -0,0 +1,99 @@
+package org.backend.developer.assignment.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.backend.developer.assignment.exception.ProductNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Product API meters: latency of every service and repository call, counters for
+ * lookups of missing products and rejected requests, and the size of batched reads by id.
+ * Published at {@code /actuator/prometheus}.
+ */
+@Component
+public class ProductMetrics {
+
+	private final MeterRegistry registry;
+	private final OperationTimers serviceTimers;
+	private final OperationTimers repositoryTimers;
+	private final DistributionSummary batchLoadSizes;
+	private final ConcurrentMap<String, Counter> notFoundCounters = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Class<?>, Counter> validationFailureCounters = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Rejection, Counter> rejectionCounters = new ConcurrentHashMap<>();
+
+	public ProductMetrics(MeterRegistry registry) {
+		this.registry = registry;
+		this.serviceTimers = new OperationTimers(registry, "product.service",
+				"Latency of product service operations");
+		this.repositoryTimers = new OperationTimers(registry, "product.repository",
+				"Latency of ProductRepository calls");
+		this.batchLoadSizes = DistributionSummary.builder("product.loader.batch.size")
+				.description("Product ids read together by one query of the batch loader")
+				.register(registry);
+	}
+
+	public void recordServiceCall(Method method, long durationNanos, Throwable error) {
+		serviceTimers.record(method, durationNanos, error);
+		if (error instanceof ProductNotFoundException) {
+			notFound(method.getName());
+		}
+	}
+
+	public void recordRepositoryCall(Method method, long durationNanos, Throwable error) {
+		repositoryTimers.record(method, durationNanos, error);
+	}
+
+	public void recordBatchLoad(int ids) {
+		batchLoadSizes.record(ids);
+	}
+
+	public void notFound(String operation) {
+		var counter = notFoundCounters.get(operation);
+		if (counter == null) {
+			counter = notFoundCounters.computeIfAbsent(operation, this::registerNotFoundCounter);
+		}
+		counter.increment();
+	}
+
+	public void validationFailure(Class<? extends Exception> exceptionType) {
+		var counter = validationFailureCounters.get(exceptionType);
+		if (counter == null) {
+			counter = validationFailureCounters.computeIfAbsent(exceptionType, this::registerValidationFailureCounter);
+		}
+		counter.increment();
+	}
+
+	public void requestRejected(String endpoint, String reason) {
+		rejectionCounters.computeIfAbsent(new Rejection(endpoint, reason), this::registerRejectionCounter).increment();
+	}
+
+	private Counter registerNotFoundCounter(String operation) {
+		return Counter.builder("product.not.found")
+				.description("Product operations that found no product with the requested id")
+				.tag("operation", operation)
+				.register(registry);
+	}
+
+	private Counter registerValidationFailureCounter(Class<?> exceptionType) {
+		return Counter.builder("product.validation.failures")
+				.description("Requests rejected because of invalid input")
+				.tag("exception", exceptionType.getSimpleName())
+				.register(registry);
+	}
+
+	private Counter registerRejectionCounter(Rejection rejection) {
+		return Counter.builder("product.requests.rejected")
+				.description("Requests shed by the rate limiter or the concurrency limiter")
+				.tag("endpoint", rejection.endpoint())
+				.tag("reason", rejection.reason())
+				.register(registry);
+	}
+
+	private record Rejection(String endpoint, String reason) {
+	}
+}
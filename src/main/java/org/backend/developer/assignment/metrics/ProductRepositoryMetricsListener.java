@@ -0,0 +1,23 @@
+package org.backend.developer.assignment.metrics;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every {@code ProductRepository} call through Spring Data's invocation listener hook.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductRepositoryMetricsListener implements RepositoryMethodInvocationListener {
+
+	private final ProductMetrics metrics;
+
+	@Override
+	public void afterInvocation(RepositoryMethodInvocation invocation) {
+		metrics.recordRepositoryCall(invocation.getMethod(), invocation.getDuration(NANOSECONDS),
+				invocation.getResult().getError());
+	}
+}
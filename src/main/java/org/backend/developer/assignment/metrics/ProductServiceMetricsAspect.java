@@ -0,0 +1,40 @@
+package org.backend.developer.assignment.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every call to a product service ({@code ProductService}, {@code ProductChangeService}).
+ * Runs outermost, so the recorded latency includes cache hits, waiting in the database bulkhead
+ * and the transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ProductServiceMetricsAspect {
+
+	private final ProductMetrics metrics;
+
+	@Around("execution(* org.backend.developer.assignment.service.ProductService.*(..))"
+			+ " || execution(* org.backend.developer.assignment.service.ProductChangeService.*(..))")
+	public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+		final var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		final var start = System.nanoTime();
+		Throwable error = null;
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			error = e;
+			throw e;
+		} finally {
+			metrics.recordServiceCall(method, System.nanoTime() - start, error);
+		}
+	}
+}
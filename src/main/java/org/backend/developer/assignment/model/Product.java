@@ -1,16 +1,21 @@
 package org.backend.developer.assignment.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.backend.developer.assignment.id.SnowflakeId;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.math.BigDecimal;
 
 @Entity
 @Builder
@@ -19,10 +24,17 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "product")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
 public class Product {
 
+	/**
+	 * Second-level cache region of products, filled only by loads by id (see {@code ProductRepository#findAllById})
+	 */
+	public static final String CACHE_REGION = "product";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@SnowflakeId
 	private long id;
 
 	@Column(name = "name", nullable = false, length = 100)
@@ -31,6 +43,10 @@ public class Product {
 	@Column(name = "description")
 	private String description;
 
-	@Column(name = "price", nullable = false)
-	private Double price;
+	@Column(name = "price", nullable = false, precision = 12, scale = 2)
+	private BigDecimal price;
+
+	@Version
+	@Column(name = "version", nullable = false)
+	private long version;
 }
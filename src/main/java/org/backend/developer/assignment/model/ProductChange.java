@@ -0,0 +1,41 @@
+package org.backend.developer.assignment.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * One insert, update or delete of a product, recorded by the {@code product_change_record} trigger.
+ */
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor
+@Table(name = "product_change")
+public class ProductChange {
+
+	@Id
+	@Column(name = "seq")
+	private long seq;
+
+	@Column(name = "txid", nullable = false)
+	private long txid;
+
+	@Column(name = "product_id", nullable = false)
+	private long productId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "operation", nullable = false, length = 6)
+	private ProductChangeOperation operation;
+
+	@Column(name = "changed_at", nullable = false)
+	private Instant changedAt;
+}
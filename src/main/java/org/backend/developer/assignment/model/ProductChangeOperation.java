@@ -0,0 +1,7 @@
+package org.backend.developer.assignment.model;
+
+public enum ProductChangeOperation {
+	INSERT,
+	UPDATE,
+	DELETE
+}
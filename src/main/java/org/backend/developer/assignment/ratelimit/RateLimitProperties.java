@@ -0,0 +1,41 @@
+package org.backend.developer.assignment.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * @param enabled         whether product API requests are rate limited
+ * @param clientKeyHeader request header identifying the client, such as an API key; when blank or absent from
+ *                        a request, the client is identified by its address. Only set it when the header is
+ *                        authenticated upstream, otherwise clients can dodge their budget by varying it
+ * @param client          the budget of each client, in cost units
+ * @param maxClients      number of client budgets kept at once
+ * @param costs           cost of a request by handler method name, {@code 1} for endpoints not listed
+ * @param endpoints       budgets shared by all clients by handler method name, in requests
+ */
+@ConfigurationProperties(prefix = "product.rate-limit")
+public record RateLimitProperties(
+		@DefaultValue("false") boolean enabled,
+		String clientKeyHeader,
+		@DefaultValue Budget client,
+		@DefaultValue("100000") int maxClients,
+		@DefaultValue Map<String, Integer> costs,
+		@DefaultValue Map<String, Budget> endpoints
+) {
+
+	/**
+	 * @param capacity        tokens available to a burst
+	 * @param refillPerSecond tokens added back per second, up to the capacity
+	 */
+	public record Budget(
+			@DefaultValue("1000") int capacity,
+			@DefaultValue("500") double refillPerSecond
+	) {
+	}
+
+	public int cost(String endpoint) {
+		return costs.getOrDefault(endpoint, 1);
+	}
+}
@@ -0,0 +1,80 @@
+package org.backend.developer.assignment.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.backend.developer.assignment.exception.RateLimitExceededException;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.backend.developer.assignment.ratelimit.RateLimitProperties.Budget;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Token buckets in front of the product API. Each client has a bucket charged the cost of every request,
+ * so listings and exports drain it far faster than single reads; endpoints may also have a bucket shared by
+ * all clients, which caps their total rate however many clients call them.
+ * <p>
+ * A client bucket is dropped once it has been idle long enough to refill, when it is no different from a new one.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.rate-limit", name = "enabled")
+public class RequestRateLimiter {
+
+	private static final String CLIENT_BUDGET = "client";
+	private static final String ENDPOINT_BUDGET = "endpoint";
+
+	private final RateLimitProperties properties;
+	private final ProductMetrics metrics;
+	private final Cache<String, TokenBucket> clientBuckets;
+	private final Map<String, TokenBucket> endpointBuckets = new HashMap<>();
+
+	public RequestRateLimiter(RateLimitProperties properties, ProductMetrics metrics) {
+		properties.costs().forEach((endpoint, cost) -> Assert.isTrue(cost <= properties.client().capacity(),
+				() -> "Cost of " + endpoint + " exceeds the capacity of a client budget"));
+		this.properties = properties;
+		this.metrics = metrics;
+		this.clientBuckets = Caffeine.newBuilder()
+				.maximumSize(properties.maxClients())
+				.expireAfterAccess(timeToRefill(properties.client()))
+				.build();
+		final var now = System.nanoTime();
+		properties.endpoints().forEach((endpoint, budget) -> endpointBuckets.put(endpoint, new TokenBucket(budget, now)));
+	}
+
+	/**
+	 * Charges a request of the client to the endpoint to its budgets.
+	 *
+	 * @throws RateLimitExceededException if the client or the endpoint has used up its budget
+	 */
+	public void acquire(String clientKey, String endpoint) {
+		final var now = System.nanoTime();
+		// the client pays first, so a client over its budget cannot drain the budget shared with others
+		final var clientBucket = clientBuckets.get(clientKey, key -> new TokenBucket(properties.client(), now));
+		final var clientWait = clientBucket.tryTake(properties.cost(endpoint), now);
+		if (clientWait > 0) {
+			throw rejected(endpoint, CLIENT_BUDGET, clientWait);
+		}
+
+		final var endpointBucket = endpointBuckets.get(endpoint);
+		if (endpointBucket != null) {
+			final var endpointWait = endpointBucket.tryTake(1, now);
+			if (endpointWait > 0) {
+				throw rejected(endpoint, ENDPOINT_BUDGET, endpointWait);
+			}
+		}
+	}
+
+	private RateLimitExceededException rejected(String endpoint, String budget, long waitNanos) {
+		metrics.requestRejected(endpoint, "rate_limit_" + budget);
+		return new RateLimitExceededException("Request rate limit exceeded for this " + budget,
+				Duration.ofNanos(waitNanos));
+	}
+
+	private static Duration timeToRefill(Budget budget) {
+		return Duration.ofNanos((long) Math.ceil(budget.capacity() / budget.refillPerSecond() * 1e9));
+	}
+}
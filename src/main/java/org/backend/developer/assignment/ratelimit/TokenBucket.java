@@ -0,0 +1,36 @@
+package org.backend.developer.assignment.ratelimit;
+
+import org.backend.developer.assignment.ratelimit.RateLimitProperties.Budget;
+
+/**
+ * A token bucket refilled continuously from the elapsed time, so it needs no timer.
+ */
+final class TokenBucket {
+
+	private final double capacity;
+	private final double tokensPerNano;
+	private double tokens;
+	private long refilledAt;
+
+	TokenBucket(Budget budget, long nanoTime) {
+		this.capacity = budget.capacity();
+		this.tokensPerNano = budget.refillPerSecond() / 1e9;
+		this.tokens = capacity;
+		this.refilledAt = nanoTime;
+	}
+
+	/**
+	 * Takes {@code cost} tokens if the bucket holds them.
+	 *
+	 * @return {@code 0} if the tokens were taken, otherwise the nanoseconds until the bucket will hold them
+	 */
+	synchronized long tryTake(int cost, long nanoTime) {
+		tokens = Math.min(capacity, tokens + (nanoTime - refilledAt) * tokensPerNano);
+		refilledAt = nanoTime;
+		if (tokens >= cost) {
+			tokens -= cost;
+			return 0;
+		}
+		return Math.max(1, (long) Math.ceil((cost - tokens) / tokensPerNano));
+	}
+}
@@ -0,0 +1,77 @@
+package org.backend.developer.assignment.repository;
+
+import org.backend.developer.assignment.model.ProductChange;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ProductChangeRepository extends Repository<ProductChange, Long> {
+
+	/**
+	 * Changes after the cursor {@code (txid, seq)}, in cursor order, made by transactions older than the
+	 * current snapshot's xmin. Those are all committed or rolled back, so no change that commits later
+	 * can ever appear before the returned ones.
+	 */
+	@Query(value = """
+			SELECT c.*
+			FROM product_change c
+			WHERE (c.txid, c.seq) > (:txid, :seq)
+				AND c.txid < pg_snapshot_xmin(pg_current_snapshot())::TEXT::BIGINT
+			ORDER BY c.txid, c.seq
+			LIMIT :limit""", nativeQuery = true)
+	List<ProductChange> findCompletedAfter(long txid, long seq, int limit);
+
+	/**
+	 * @return the id of the oldest transaction that may still be running; every older change is final
+	 */
+	@Query(value = "SELECT pg_snapshot_xmin(pg_current_snapshot())::TEXT::BIGINT", nativeQuery = true)
+	long findSnapshotXmin();
+
+	/**
+	 * Marker of the product table as of the current snapshot, the same on every node that reads the same state:
+	 * the oldest transaction still running, the pruned horizon and the number of changes made since that
+	 * transaction started. A product change that commits either finishes that transaction or adds to the count.
+	 * Read-only, so with read replicas it describes the state a listing read next would see.
+	 */
+	@Transactional(readOnly = true)
+	@Query(value = """
+			SELECT s.xmin || '.' || h.seq || '.' || (SELECT count(*) FROM product_change c WHERE c.txid >= s.xmin)
+			FROM (SELECT pg_snapshot_xmin(pg_current_snapshot())::TEXT::BIGINT AS xmin) s,
+				product_change_horizon h""", nativeQuery = true)
+	String findListingMarker();
+
+	/**
+	 * @return the position of the newest pruned change
+	 */
+	@Query(value = "SELECT txid, seq FROM product_change_horizon", nativeQuery = true)
+	CursorView findPrunedHorizon();
+
+	/**
+	 * Deletes changes made before {@code before} and advances the pruned horizon past them.
+	 */
+	@Modifying
+	@Query(value = """
+			WITH pruned AS (
+				DELETE FROM product_change
+				WHERE changed_at < :before
+				RETURNING txid, seq
+			), newest AS (
+				SELECT txid, seq FROM pruned ORDER BY txid DESC, seq DESC LIMIT 1
+			)
+			UPDATE product_change_horizon h
+			SET txid = newest.txid, seq = newest.seq
+			FROM newest
+			WHERE (newest.txid, newest.seq) > (h.txid, h.seq)""", nativeQuery = true)
+	void pruneBefore(Instant before);
+
+	interface CursorView {
+
+		long getTxid();
+
+		long getSeq();
+	}
+}
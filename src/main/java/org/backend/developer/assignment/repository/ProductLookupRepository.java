@@ -0,0 +1,17 @@
+package org.backend.developer.assignment.repository;
+
+import org.backend.developer.assignment.model.Product;
+
+import java.util.List;
+
+/**
+ * Loads of {@link ProductRepository} by id that go through the Hibernate second-level cache.
+ */
+public interface ProductLookupRepository {
+
+	/**
+	 * Products with any of the given ids, in the order of the ids. Products in the second-level cache are not
+	 * read again; the others are read with one statement and cached.
+	 */
+	List<Product> findAllById(Iterable<Long> ids);
+}
@@ -0,0 +1,37 @@
+package org.backend.developer.assignment.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.model.Product;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Loads through Hibernate's multi-load, which checks the persistence context and the second-level cache before
+ * reading the missing products, and caches what it reads. Other queries only read the cache, so a product is
+ * cached only by these loads by id; changes evict it like the products cache, including a second time once the
+ * replicas have caught up.
+ */
+@RequiredArgsConstructor
+class ProductLookupRepositoryImpl implements ProductLookupRepository {
+
+	private final EntityManager entityManager;
+
+	@Override
+	public List<Product> findAllById(Iterable<Long> ids) {
+		final var idList = new ArrayList<Long>();
+		ids.forEach(idList::add);
+		return entityManager.unwrap(Session.class)
+				.byMultipleIds(Product.class)
+				.with(CacheMode.NORMAL)
+				.multiLoad(idList)
+				.stream()
+				// missing products
+				.filter(Objects::nonNull)
+				.toList();
+	}
+}
@@ -1,7 +1,75 @@
 package org.backend.developer.assignment.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import jakarta.persistence.QueryHint;
 import org.backend.developer.assignment.model.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+		ProductLookupRepository, ProductUpdateRepository {
+
+	/**
+	 * Keyset page: products with an id strictly greater than {@code id}, in id order.
+	 */
+	List<Product> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+	/**
+	 * Streams the whole table in id order using a server-side cursor. The products are read-only, so no
+	 * snapshots are kept to dirty-check them, but they stay managed until detached.
+	 * Must be consumed inside a transaction and closed by the caller.
+	 */
+	@QueryHints({
+			@QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HINT_READ_ONLY, value = "true")
+	})
+	@Query("select p from Product p order by p.id")
+	Stream<Product> streamAllByOrderByIdAsc();
+
+	/**
+	 * Ranked search: products whose name or description matches the full-text {@code query}
+	 * ({@code websearch_to_tsquery} syntax), or whose name matches {@code namePrefix}
+	 * case-insensitively. Name prefix matches come first, then by relevance, then by id.
+	 *
+	 * @param namePrefix a {@code LIKE} pattern with escaped wildcards and a trailing {@code %}
+	 */
+	@Query(value = """
+			SELECT p.*
+			FROM product p
+			WHERE p.search_vector @@ websearch_to_tsquery('english', :query)
+				OR p.name ILIKE :namePrefix
+			ORDER BY p.name ILIKE :namePrefix DESC,
+				ts_rank(p.search_vector, websearch_to_tsquery('english', :query)) DESC,
+				p.id
+			LIMIT :limit OFFSET :offset""", nativeQuery = true)
+	List<Product> search(String query, String namePrefix, int limit, long offset);
+
+	/**
+	 * Products with any of the given ids, in no particular order. The ids are bound as one array parameter,
+	 * so every batch size shares a single prepared statement.
+	 */
+	@Query(value = "SELECT * FROM product WHERE id = ANY(:ids)", nativeQuery = true)
+	List<Product> findAllByIdArray(Long[] ids);
+
+	@Query("select p.id from Product p where p.id in :ids")
+	List<Long> findExistingIds(Collection<Long> ids);
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+	/**
+	 * Deletes the product with a single statement, without loading it first.
+	 *
+	 * @return the number of deleted rows, {@code 0} if no product has the given id
+	 */
+	@Modifying
+	@Query("delete from Product p where p.id = :id")
+	int deleteProductById(long id);
 }
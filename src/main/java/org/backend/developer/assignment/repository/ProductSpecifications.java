@@ -0,0 +1,82 @@
+package org.backend.developer.assignment.repository;
+
+import org.backend.developer.assignment.model.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Dynamic product queries for listings. Each predicate is shaped to match an index:
+ * price ranges and price keysets use {@code (price, id)}, name prefixes use {@code lower(name)}.
+ */
+public final class ProductSpecifications {
+
+	private static final String ID = "id";
+	private static final String NAME = "name";
+	private static final String PRICE = "price";
+	private static final char LIKE_ESCAPE = '\\';
+
+	private ProductSpecifications() {
+	}
+
+	public static Sort byId() {
+		return Sort.by(ID);
+	}
+
+	public static Sort byPrice(Sort.Direction direction) {
+		return Sort.by(direction, PRICE, ID);
+	}
+
+	public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+		return minPrice == null ? null : (root, query, cb) -> cb.ge(root.get(PRICE), minPrice);
+	}
+
+	public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+		return maxPrice == null ? null : (root, query, cb) -> cb.le(root.get(PRICE), maxPrice);
+	}
+
+	public static Specification<Product> nameStartsWith(String prefix) {
+		if (prefix == null) {
+			return null;
+		}
+		final var pattern = prefixPattern(prefix.toLowerCase(Locale.ROOT));
+		return (root, query, cb) -> cb.like(cb.lower(root.get(NAME)), pattern, LIKE_ESCAPE);
+	}
+
+	/**
+	 * Keyset condition continuing after the last product of the previous page in {@link #byId()} order.
+	 */
+	public static Specification<Product> idAfter(long afterId) {
+		return afterId <= 0 ? null : (root, query, cb) -> cb.gt(root.get(ID), afterId);
+	}
+
+	/**
+	 * Keyset condition continuing after the last product of the previous page in {@link #byPrice} order.
+	 * Ascending it is {@code price >= :p and (price > :p or id > :id)}, so the leading bound is an index range.
+	 */
+	public static Specification<Product> priceAfter(Sort.Direction direction, BigDecimal afterPrice, long afterId) {
+		if (afterPrice == null) {
+			return null;
+		}
+		if (direction.isAscending()) {
+			return (root, query, cb) -> cb.and(
+					cb.ge(root.get(PRICE), afterPrice),
+					cb.or(cb.gt(root.get(PRICE), afterPrice), cb.gt(root.get(ID), afterId)));
+		}
+		return (root, query, cb) -> cb.and(
+				cb.le(root.get(PRICE), afterPrice),
+				cb.or(cb.lt(root.get(PRICE), afterPrice), cb.lt(root.get(ID), afterId)));
+	}
+
+	/**
+	 * @return a {@code LIKE} pattern matching values starting with {@code prefix}, with its wildcards escaped
+	 */
+	public static String prefixPattern(String prefix) {
+		return prefix.replace("\\", "\\\\")
+				.replace("%", "\\%")
+				.replace("_", "\\_")
+				+ "%";
+	}
+}
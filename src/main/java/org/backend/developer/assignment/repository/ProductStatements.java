@@ -0,0 +1,29 @@
+package org.backend.developer.assignment.repository;
+
+/**
+ * Native statements run by both {@link ProductRepository} (JPA) and the reactive profile's R2DBC repository,
+ * so the two stacks write products the same way. Parameters are bound by name.
+ */
+public final class ProductStatements {
+
+	/**
+	 * Updates the product in place and returns it, or nothing if no product has the id.
+	 */
+	public static final String UPDATE_BY_ID = """
+			UPDATE product
+			SET name = :name, description = :description, price = :price, version = version + 1
+			WHERE id = :id
+			RETURNING *""";
+
+	/**
+	 * Like {@link #UPDATE_BY_ID}, but only if the product is still at {@code :version}.
+	 */
+	public static final String UPDATE_BY_ID_AND_VERSION = """
+			UPDATE product
+			SET name = :name, description = :description, price = :price, version = version + 1
+			WHERE id = :id AND version = :version
+			RETURNING *""";
+
+	private ProductStatements() {
+	}
+}
@@ -0,0 +1,29 @@
+package org.backend.developer.assignment.repository;
+
+import org.backend.developer.assignment.model.Product;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Single-statement updates of {@link ProductRepository}. They write behind the persistence context's back, so
+ * it is flushed and cleared first and the returned product is read from the {@code RETURNING} row, never a
+ * managed instance with the state from before the update.
+ */
+public interface ProductUpdateRepository {
+
+	/**
+	 * Updates the product in place with a single {@code UPDATE ... RETURNING} statement,
+	 * without loading it first.
+	 *
+	 * @return the updated product, or empty if no product has the given id
+	 */
+	Optional<Product> updateById(long id, String name, String description, BigDecimal price);
+
+	/**
+	 * Like {@link #updateById}, but only if the product is still at the given version.
+	 *
+	 * @return the updated product, or empty if no product has the given id and version
+	 */
+	Optional<Product> updateByIdAndVersion(long id, long version, String name, String description, BigDecimal price);
+}
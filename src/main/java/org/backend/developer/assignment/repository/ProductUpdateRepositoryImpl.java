@@ -0,0 +1,44 @@
+package org.backend.developer.assignment.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.model.Product;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class ProductUpdateRepositoryImpl implements ProductUpdateRepository {
+
+	private final EntityManager entityManager;
+
+	@Override
+	public Optional<Product> updateById(long id, String name, String description, BigDecimal price) {
+		return update(statement(ProductStatements.UPDATE_BY_ID, id, name, description, price));
+	}
+
+	@Override
+	public Optional<Product> updateByIdAndVersion(long id, long version, String name, String description,
+	                                              BigDecimal price) {
+		return update(statement(ProductStatements.UPDATE_BY_ID_AND_VERSION, id, name, description, price)
+				.setParameter("version", version));
+	}
+
+	private Query statement(String sql, long id, String name, String description, BigDecimal price) {
+		// pending changes are written before the row is, and no managed product outlives the update
+		entityManager.flush();
+		entityManager.clear();
+		return entityManager.createNativeQuery(sql, Product.class)
+				.setParameter("id", id)
+				.setParameter("name", name)
+				.setParameter("description", description)
+				.setParameter("price", price);
+	}
+
+	private static Optional<Product> update(Query query) {
+		return query.getResultStream()
+				.findFirst()
+				.map(Product.class::cast);
+	}
+}
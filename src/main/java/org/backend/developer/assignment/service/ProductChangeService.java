@@ -0,0 +1,39 @@
+package org.backend.developer.assignment.service;
+
+import org.backend.developer.assignment.api.dto.request.ChangeCursor;
+import org.backend.developer.assignment.api.dto.response.ProductChangesResponse;
+import org.backend.developer.assignment.exception.ChangeCursorExpiredException;
+
+import java.time.Instant;
+
+/**
+ * Service interface for the product change feed, used to keep copies of the catalog in sync
+ * without reading the whole catalog.
+ */
+public interface ProductChangeService {
+
+	/**
+	 * Returns the cursor of the current end of the feed. A client that reads a full listing after
+	 * taking it and then follows the feed from it misses no change.
+	 *
+	 * @return the cursor following every change committed so far
+	 */
+	ChangeCursor getHead();
+
+	/**
+	 * Retrieves the changes following a cursor, oldest first, with the current state of each changed product.
+	 *
+	 * @param since the cursor of the last change already seen
+	 * @param limit the maximum number of changes to return
+	 * @return the changes and the cursor to continue from
+	 * @throws ChangeCursorExpiredException if changes following {@code since} have already been pruned
+	 */
+	ProductChangesResponse getChanges(ChangeCursor since, int limit);
+
+	/**
+	 * Deletes changes recorded before the given instant.
+	 *
+	 * @param before the instant before which changes are deleted
+	 */
+	void pruneChanges(Instant before);
+}
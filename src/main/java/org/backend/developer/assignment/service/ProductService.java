@@ -1,10 +1,16 @@
 package org.backend.developer.assignment.service;
 
+import org.backend.developer.assignment.api.dto.request.ProductBatchUpdateRequest;
+import org.backend.developer.assignment.api.dto.request.ProductPageRequest;
 import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.response.BatchResponse;
 import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.api.dto.response.ProductsByIdResponse;
 import org.backend.developer.assignment.exception.ProductNotFoundException;
+import org.backend.developer.assignment.exception.ProductVersionMismatchException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing product-related operations.
@@ -13,11 +19,42 @@ import java.util.List;
 public interface ProductService {
 
 	/**
-	 * Retrieves a list of all products available in the system.
+	 * Retrieves one page of products matching the filters of {@code page}, in its order (keyset pagination).
 	 *
-	 * @return a list of ProductResponse objects representing the products.
+	 * @param page  the filters, order and position after the previous page
+	 * @param limit the maximum number of products to return
+	 * @return a list of ProductResponse objects following the position of {@code page}
+	 * @throws jakarta.validation.ConstraintViolationException if a price order is continued without {@code afterPrice}
 	 */
-	List<ProductResponse> getAllProducts();
+	List<ProductResponse> getProducts(ProductPageRequest page, int limit);
+
+	/**
+	 * Streams all products ordered by id, passing each one to the given consumer
+	 * as it is read from the database, without loading the whole table into memory.
+	 *
+	 * @param consumer the callback receiving each product
+	 */
+	void streamProducts(Consumer<ProductResponse> consumer);
+
+	/**
+	 * Searches products by full-text match on name and description, or by name prefix.
+	 * Products whose name starts with the query come first, the rest are ordered by relevance.
+	 *
+	 * @param query  the search text
+	 * @param offset the number of matching products to skip
+	 * @param limit  the maximum number of products to return
+	 * @return one page of matching products
+	 */
+	List<ProductResponse> searchProducts(String query, long offset, int limit);
+
+	/**
+	 * Retrieves the products with the given ids with as few queries as possible.
+	 * Repeated ids are returned once, at their first position.
+	 *
+	 * @param ids the unique identifiers of the products to retrieve
+	 * @return the products found in request order, and the ids that match no product
+	 */
+	ProductsByIdResponse getProductsById(List<Long> ids);
 
 	/**
 	 * Retrieves a product by its unique identifier.
@@ -26,7 +63,7 @@ public interface ProductService {
 	 * @return the product details wrapped in a ProductResponse object
 	 * @throws ProductNotFoundException if a product with the specified id is not found
 	 */
-	ProductResponse getProductById(Long id) throws ProductNotFoundException;
+	ProductResponse getProductById(Long id);
 
 	/**
 	 * Creates a new product based on the provided product details.
@@ -44,7 +81,19 @@ public interface ProductService {
 	 * @return The updated product details.
 	 * @throws ProductNotFoundException If the product with the specified ID does not exist.
 	 */
-	ProductResponse updateProduct(Long id, ProductRequest request) throws ProductNotFoundException;
+	ProductResponse updateProduct(Long id, ProductRequest request);
+
+	/**
+	 * Updates an existing product only if it is still at the expected version (optimistic locking).
+	 *
+	 * @param id The ID of the product to update.
+	 * @param request The updated product details.
+	 * @param expectedVersion The version of the product the caller last saw.
+	 * @return The updated product details.
+	 * @throws ProductNotFoundException If the product with the specified ID does not exist.
+	 * @throws ProductVersionMismatchException If the product has been changed since {@code expectedVersion}.
+	 */
+	ProductResponse updateProduct(Long id, ProductRequest request, long expectedVersion);
 
 	/**
 	 * Deletes a product identified by its unique ID.
@@ -52,5 +101,32 @@ public interface ProductService {
 	 * @param id the unique identifier of the product to be deleted
 	 * @throws ProductNotFoundException if no product with the specified ID exists
 	 */
-	void deleteProduct(Long id) throws ProductNotFoundException;
+	void deleteProduct(Long id);
+
+	/**
+	 * Creates the given products in a single transaction using batched inserts.
+	 * Invalid items are reported in the response and do not abort the rest of the batch.
+	 *
+	 * @param requests the details of the products to be created
+	 * @return the created products and the errors of the rejected items
+	 */
+	BatchResponse<ProductResponse> createProducts(List<ProductRequest> requests);
+
+	/**
+	 * Updates the given products in a single transaction using batched updates.
+	 * Invalid or missing items are reported in the response and do not abort the rest of the batch.
+	 *
+	 * @param requests the ids and new details of the products to be updated
+	 * @return the updated products and the errors of the rejected items
+	 */
+	BatchResponse<ProductResponse> updateProducts(List<ProductBatchUpdateRequest> requests);
+
+	/**
+	 * Deletes the products with the given ids with a single statement.
+	 * Missing ids are reported in the response and do not abort the rest of the batch.
+	 *
+	 * @param ids the unique identifiers of the products to be deleted
+	 * @return the deleted ids and the errors of the rejected items
+	 */
+	BatchResponse<Long> deleteProducts(List<Long> ids);
 }
@@ -0,0 +1,230 @@
+package org.backend.developer.assignment.service.impl;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.config.ProductLoaderProperties;
+import org.backend.developer.assignment.exception.ServiceOverloadedException;
+import org.backend.developer.assignment.mapper.ProductMapper;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.backend.developer.assignment.repository.ProductRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reads products by id for concurrent callers with as few queries as possible. A caller asking for an id
+ * that is already being read waits for that read instead of starting its own, and distinct ids asked for
+ * within {@code product.loader.window} are read together with one {@code WHERE id = ANY(?)} query.
+ * <p>
+ * Batches run in their own read-only transaction on the loader's own pool of {@code product.loader.threads},
+ * sized to the connection pool, so waiting callers hold no connection and streaming downloads or long polls on
+ * the application task executor cannot hold up reads by id. When the pool's queue is full, the batch is read
+ * on the thread that submitted it.
+ * Writers {@linkplain #invalidate(Iterable) invalidate} the ids they changed, so that a read which may have
+ * started before their commit is not shared with callers that come after it.
+ */
+@Component
+public class ProductBatchLoader implements DisposableBean {
+
+	private final ProductRepository productRepository;
+	private final ProductMapper mapper;
+	private final ProductMetrics metrics;
+	private final TransactionOperations readOnlyTransaction;
+	private final Executor executor;
+	private final Executor delayedExecutor;
+	private final int maxBatchSize;
+	private final Duration timeout;
+
+	private final ConcurrentMap<Long, CompletableFuture<Optional<ProductResponse>>> inFlight = new ConcurrentHashMap<>();
+	private final Lock lock = new ReentrantLock();
+	private Map<Long, CompletableFuture<Optional<ProductResponse>>> pending = new HashMap<>();
+
+	@Autowired
+	public ProductBatchLoader(ProductRepository productRepository, ProductMapper mapper, ProductMetrics metrics,
+	                          PlatformTransactionManager transactionManager, ProductLoaderProperties properties) {
+		this(productRepository, mapper, metrics, transactionManager, loaderExecutor(properties), properties);
+	}
+
+	ProductBatchLoader(ProductRepository productRepository, ProductMapper mapper, ProductMetrics metrics,
+	                   PlatformTransactionManager transactionManager, Executor executor,
+	                   ProductLoaderProperties properties) {
+		this.productRepository = productRepository;
+		this.mapper = mapper;
+		this.metrics = metrics;
+		final var transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(true);
+		this.readOnlyTransaction = transaction;
+		this.executor = executor;
+		// the delayed flush is submitted from the delay scheduler's thread, so it falls back to running there
+		this.delayedExecutor = CompletableFuture.delayedExecutor(properties.window().toNanos(), TimeUnit.NANOSECONDS,
+				task -> execute(executor, task));
+		this.maxBatchSize = properties.maxBatchSize();
+		this.timeout = properties.timeout();
+	}
+
+	/**
+	 * @return the product with the given id, or empty if there is none
+	 * @throws ServiceOverloadedException if the read did not complete within {@code product.loader.timeout}
+	 */
+	public Optional<ProductResponse> load(long id) {
+		var future = inFlight.get(id);
+		if (future == null) {
+			final var created = new CompletableFuture<Optional<ProductResponse>>();
+			future = inFlight.putIfAbsent(id, created);
+			if (future == null) {
+				future = created;
+				enqueue(id, created);
+			}
+		}
+		return await(future);
+	}
+
+	/**
+	 * Stops sharing reads of the given ids that are already running, once the current transaction has committed
+	 * (right away without one). Later callers start a read that sees the committed state.
+	 */
+	public void invalidate(Iterable<Long> ids) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					ids.forEach(inFlight::remove);
+				}
+			});
+		} else {
+			ids.forEach(inFlight::remove);
+		}
+	}
+
+	private void enqueue(Long id, CompletableFuture<Optional<ProductResponse>> future) {
+		Map<Long, CompletableFuture<Optional<ProductResponse>>> full = null;
+		lock.lock();
+		try {
+			final var queued = pending.put(id, future);
+			if (queued != null) {
+				// invalidated before its batch started: that batch reads after the commit as well
+				future.whenComplete((product, failure) -> complete(queued, product, failure));
+			}
+			if (pending.size() == 1) {
+				delayedExecutor.execute(this::flush);
+			}
+			if (pending.size() >= maxBatchSize) {
+				full = pending;
+				pending = new HashMap<>();
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		if (full != null) {
+			final var batch = full;
+			execute(executor, () -> read(batch));
+		}
+	}
+
+	private Optional<ProductResponse> await(CompletableFuture<Optional<ProductResponse>> future) {
+		try {
+			return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (TimeoutException e) {
+			throw new ServiceOverloadedException("Timed out waiting for the product to be read", timeout);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceOverloadedException("Interrupted while waiting for the product to be read", timeout);
+		}
+	}
+
+	private void flush() {
+		final Map<Long, CompletableFuture<Optional<ProductResponse>>> batch;
+		lock.lock();
+		try {
+			batch = pending;
+			pending = new HashMap<>();
+		} finally {
+			lock.unlock();
+		}
+
+		if (!batch.isEmpty()) {
+			read(batch);
+		}
+	}
+
+	private void read(Map<Long, CompletableFuture<Optional<ProductResponse>>> batch) {
+		try {
+			final var products = readOnlyTransaction.execute(status ->
+					mapper.from(productRepository.findAllByIdArray(batch.keySet().toArray(Long[]::new))));
+			metrics.recordBatchLoad(batch.size());
+
+			final var byId = products.stream().collect(toMap(ProductResponse::id, identity()));
+			batch.forEach((id, future) -> {
+				inFlight.remove(id, future);
+				future.complete(Optional.ofNullable(byId.get(id)));
+			});
+		} catch (RuntimeException e) {
+			batch.forEach((id, future) -> {
+				inFlight.remove(id, future);
+				future.completeExceptionally(e);
+			});
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (executor instanceof ThreadPoolTaskExecutor pool) {
+			pool.shutdown();
+		}
+	}
+
+	private static ThreadPoolTaskExecutor loaderExecutor(ProductLoaderProperties properties) {
+		final var pool = new ThreadPoolTaskExecutor();
+		pool.setThreadNamePrefix("product-loader-");
+		pool.setCorePoolSize(properties.threads());
+		pool.setMaxPoolSize(properties.threads());
+		pool.setQueueCapacity(properties.queueCapacity());
+		pool.initialize();
+		return pool;
+	}
+
+	private static void execute(Executor executor, Runnable task) {
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			task.run();
+		}
+	}
+
+	private static <T> void complete(CompletableFuture<T> future, T value, Throwable failure) {
+		if (failure != null) {
+			future.completeExceptionally(failure);
+		} else {
+			future.complete(value);
+		}
+	}
+}
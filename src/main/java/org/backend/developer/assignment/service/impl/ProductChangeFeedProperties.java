@@ -0,0 +1,17 @@
+package org.backend.developer.assignment.service.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param retention     how long changes are kept; cursors older than that must resynchronize
+ * @param pruneInterval pause between two runs of pruning
+ */
+@ConfigurationProperties(prefix = "product.change-feed")
+public record ProductChangeFeedProperties(
+		@DefaultValue("7d") Duration retention,
+		@DefaultValue("1h") Duration pruneInterval
+) {
+}
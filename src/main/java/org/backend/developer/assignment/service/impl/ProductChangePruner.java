@@ -0,0 +1,24 @@
+package org.backend.developer.assignment.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.service.ProductChangeService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Keeps the change feed within its retention. Safe to run on every node at once.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductChangePruner {
+
+	private final ProductChangeService productChangeService;
+	private final ProductChangeFeedProperties properties;
+
+	@Scheduled(fixedDelayString = "${product.change-feed.prune-interval:1h}", initialDelayString = "1m")
+	public void prune() {
+		productChangeService.pruneChanges(Instant.now().minus(properties.retention()));
+	}
+}
@@ -0,0 +1,76 @@
+package org.backend.developer.assignment.service.impl;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.api.dto.request.ChangeCursor;
+import org.backend.developer.assignment.api.dto.response.ProductChangeResponse;
+import org.backend.developer.assignment.api.dto.response.ProductChangesResponse;
+import org.backend.developer.assignment.exception.ChangeCursorExpiredException;
+import org.backend.developer.assignment.mapper.ProductMapper;
+import org.backend.developer.assignment.model.Product;
+import org.backend.developer.assignment.model.ProductChange;
+import org.backend.developer.assignment.repository.ProductChangeRepository;
+import org.backend.developer.assignment.repository.ProductRepository;
+import org.backend.developer.assignment.service.ProductChangeService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ProductChangeServiceImpl implements ProductChangeService {
+
+	private static final String CURSOR_EXPIRED = "Changes after this cursor have been pruned, resynchronize";
+
+	private final ProductMapper mapper;
+	private final ProductChangeRepository changeRepository;
+	private final ProductRepository productRepository;
+
+	@Transactional(readOnly = true)
+	public ChangeCursor getHead() {
+		return new ChangeCursor(changeRepository.findSnapshotXmin() - 1, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Reads the pruned horizon and the changes from one snapshot, so a prune committing in between
+	 * either shows in the horizon (the cursor expires) or not at all (the pruned changes are still visible).
+	 */
+	@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+	public ProductChangesResponse getChanges(ChangeCursor since, int limit) {
+		final var horizon = changeRepository.findPrunedHorizon();
+		if (since.compareTo(new ChangeCursor(horizon.getTxid(), horizon.getSeq())) < 0) {
+			throw new ChangeCursorExpiredException(CURSOR_EXPIRED);
+		}
+
+		final var changes = changeRepository.findCompletedAfter(since.txid(), since.seq(), limit);
+		if (changes.isEmpty()) {
+			return new ProductChangesResponse(List.of(), since.toString());
+		}
+
+		final var productIds = changes.stream().map(ProductChange::getProductId).distinct().toList();
+		// read from the snapshot of the changes, never from the second-level cache
+		final var products = productRepository.findAllByIdArray(productIds.toArray(Long[]::new)).stream()
+				.collect(toMap(Product::getId, identity()));
+
+		final var responses = changes.stream()
+				.map(change -> toResponse(change, products.get(change.getProductId())))
+				.toList();
+		return new ProductChangesResponse(responses, responses.getLast().cursor());
+	}
+
+	@Transactional
+	public void pruneChanges(Instant before) {
+		changeRepository.pruneBefore(before);
+	}
+
+	private ProductChangeResponse toResponse(ProductChange change, Product product) {
+		final var cursor = new ChangeCursor(change.getTxid(), change.getSeq());
+		return new ProductChangeResponse(cursor.toString(), change.getProductId(), change.getOperation(),
+				change.getChangedAt(), product == null ? null : mapper.from(product));
+	}
+}
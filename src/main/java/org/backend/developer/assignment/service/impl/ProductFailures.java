@@ -0,0 +1,25 @@
+package org.backend.developer.assignment.service.impl;
+
+import org.backend.developer.assignment.exception.ProductNotFoundException;
+import org.backend.developer.assignment.exception.ProductVersionMismatchException;
+
+/**
+ * Failures of the product services, shared by the servlet and reactive stacks so both answer alike.
+ */
+final class ProductFailures {
+
+	static final String PRODUCT_NOT_FOUND = "Product not found";
+	static final ProductNotFoundException NOT_FOUND = new ProductNotFoundException(PRODUCT_NOT_FOUND);
+	static final String PRODUCT_VERSION_MISMATCH = "Product has been changed since the expected version";
+
+	private ProductFailures() {
+	}
+
+	/**
+	 * @param productExists whether the product exists after the conditional update matched no row
+	 * @return why the update expecting a version matched no row
+	 */
+	static RuntimeException versionedUpdateFailure(boolean productExists) {
+		return productExists ? new ProductVersionMismatchException(PRODUCT_VERSION_MISMATCH) : NOT_FOUND;
+	}
+}
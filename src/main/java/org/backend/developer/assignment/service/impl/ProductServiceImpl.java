@@ -1,38 +1,139 @@
 package org.backend.developer.assignment.service.impl;
 
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingInt;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toMap;
+import static org.backend.developer.assignment.config.CacheConfig.PRODUCTS_CACHE;
+import static org.backend.developer.assignment.repository.ProductSpecifications.prefixPattern;
+import static org.backend.developer.assignment.service.impl.ProductFailures.NOT_FOUND;
+import static org.backend.developer.assignment.service.impl.ProductFailures.PRODUCT_NOT_FOUND;
+import static org.backend.developer.assignment.service.impl.ProductFailures.versionedUpdateFailure;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.api.dto.request.ProductBatchUpdateRequest;
+import org.backend.developer.assignment.api.dto.request.ProductPageRequest;
 import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.request.ProductSort;
+import org.backend.developer.assignment.api.dto.response.BatchItemError;
+import org.backend.developer.assignment.api.dto.response.BatchResponse;
 import org.backend.developer.assignment.api.dto.response.ProductResponse;
-import org.backend.developer.assignment.exception.ProductNotFoundException;
+import org.backend.developer.assignment.api.dto.response.ProductsByIdResponse;
 import org.backend.developer.assignment.mapper.ProductMapper;
 import org.backend.developer.assignment.model.Product;
 import org.backend.developer.assignment.repository.ProductRepository;
+import org.backend.developer.assignment.repository.ProductSpecifications;
 import org.backend.developer.assignment.service.ProductService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+	private static final String ITEM_MUST_NOT_BE_NULL = "item must not be null";
+	private static final String DUPLICATE_PRODUCT_ID = "Product id already updated by an earlier item of the batch";
+	private static final int FETCH_BY_ID_CHUNK_SIZE = 500;
+
 	private final ProductMapper mapper;
 	private final ProductRepository productRepository;
+	private final EntityManager entityManager;
+	private final Validator validator;
+	private final CacheManager cacheManager;
+	private final ProductBatchLoader productLoader;
+
+
+	@Transactional(readOnly = true)
+	public List<ProductResponse> getProducts(ProductPageRequest page, int limit) {
+		final var violations = validator.validate(page);
+		if (!violations.isEmpty()) {
+			throw new ConstraintViolationException(violations);
+		}
+
+		if (page.isUnfiltered()) {
+			return mapper.from(productRepository.findByIdGreaterThanOrderByIdAsc(page.after(), Limit.of(limit)));
+		}
+
+		final var products = productRepository.findBy(matching(page),
+				query -> query.sortBy(order(page.sort())).limit(limit).all());
 
+		return mapper.from(products);
+	}
 
 	@Transactional(readOnly = true)
-	public List<ProductResponse> getAllProducts() {
-		final var products = productRepository.findAll();
+	public void streamProducts(Consumer<ProductResponse> consumer) {
+		try (final var products = productRepository.streamAllByOrderByIdAsc()) {
+			products.forEach(product -> {
+				consumer.accept(mapper.from(product));
+				// keep the persistence context empty so memory stays flat for any table size
+				entityManager.detach(product);
+			});
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public List<ProductResponse> searchProducts(String query, long offset, int limit) {
+		final var text = query.strip();
+		final var products = productRepository.search(text, prefixPattern(text), limit, offset);
 
 		return mapper.from(products);
 	}
 
 	@Transactional(readOnly = true)
-	public ProductResponse getProductById(Long id) throws ProductNotFoundException {
-		final var product = getProduct(id);
+	public ProductsByIdResponse getProductsById(List<Long> ids) {
+		final var requestedIds = List.copyOf(new LinkedHashSet<>(ids));
+
+		final var products = new HashMap<Long, ProductResponse>(requestedIds.size());
+		for (int from = 0; from < requestedIds.size(); from += FETCH_BY_ID_CHUNK_SIZE) {
+			final var chunk = requestedIds.subList(from, Math.min(from + FETCH_BY_ID_CHUNK_SIZE, requestedIds.size()));
+			productRepository.findAllById(chunk)
+					.forEach(product -> products.put(product.getId(), mapper.from(product)));
+		}
+
+		final var found = new ArrayList<ProductResponse>(products.size());
+		final var missingIds = new ArrayList<Long>();
+		for (final var id : requestedIds) {
+			final var product = products.get(id);
+			if (product != null) {
+				found.add(product);
+			} else {
+				missingIds.add(id);
+			}
+		}
 
-		return mapper.from(product);
+		return new ProductsByIdResponse(found, missingIds);
+	}
+
+	@Cacheable(cacheNames = PRODUCTS_CACHE, key = "#id")
+	public ProductResponse getProductById(Long id) {
+		// shares the read with concurrent lookups; no transaction is held while waiting for it
+		return productLoader.load(id)
+				.orElseThrow(() -> NOT_FOUND);
 	}
 
 	@Transactional
@@ -44,26 +145,195 @@ public class ProductServiceImpl implements ProductService {
 		return mapper.from(entity);
 	}
 
+	@CachePut(cacheNames = PRODUCTS_CACHE, key = "#id")
 	@Transactional
-	public ProductResponse updateProduct(Long id, ProductRequest productDetails) throws ProductNotFoundException {
-		final var product = getProduct(id);
+	public ProductResponse updateProduct(Long id, ProductRequest productDetails) {
+		final var entity = productRepository.updateById(id, productDetails.name(),
+						productDetails.description(), productDetails.price())
+				.orElseThrow(() -> NOT_FOUND);
+		invalidateLoads(List.of(id));
 
-		mapper.updateEntity(product, productDetails);
+		return mapper.from(entity);
+	}
 
-		final var entity = productRepository.save(product);
+	@CachePut(cacheNames = PRODUCTS_CACHE, key = "#id")
+	@Transactional
+	public ProductResponse updateProduct(Long id, ProductRequest productDetails, long expectedVersion) {
+		final var entity = productRepository.updateByIdAndVersion(id, expectedVersion, productDetails.name(),
+				productDetails.description(), productDetails.price());
+		if (entity.isEmpty()) {
+			throw versionedUpdateFailure(productRepository.existsById(id));
+		}
+		invalidateLoads(List.of(id));
 
-		return mapper.from(entity);
+		return mapper.from(entity.get());
+	}
+
+	@CacheEvict(cacheNames = PRODUCTS_CACHE, key = "#id")
+	@Transactional
+	public void deleteProduct(Long id) {
+		if (productRepository.deleteProductById(id) == 0) {
+			throw NOT_FOUND;
+		}
+		invalidateLoads(List.of(id));
+	}
+
+	@Transactional
+	public BatchResponse<ProductResponse> createProducts(List<ProductRequest> requests) {
+		final var errors = new ArrayList<BatchItemError>();
+		final var products = new ArrayList<Product>(requests.size());
+
+		for (int index = 0; index < requests.size(); index++) {
+			final var request = requests.get(index);
+			final var error = validate(request);
+			if (error.isPresent()) {
+				errors.add(new BatchItemError(index, error.get()));
+			} else {
+				products.add(mapper.to(request));
+			}
+		}
+
+		final var entities = productRepository.saveAll(products);
+
+		return new BatchResponse<>(mapper.from(entities), errors);
+	}
+
+	@Transactional
+	public BatchResponse<ProductResponse> updateProducts(List<ProductBatchUpdateRequest> requests) {
+		final var errors = new ArrayList<BatchItemError>();
+		final var validRequests = new LinkedHashMap<Integer, ProductBatchUpdateRequest>();
+		final var requestedIds = new HashSet<Long>();
+
+		for (int index = 0; index < requests.size(); index++) {
+			final var request = requests.get(index);
+			final var error = validate(request);
+			if (error.isPresent()) {
+				errors.add(new BatchItemError(index, error.get()));
+			} else if (!requestedIds.add(request.id())) {
+				// the first item for an id is applied, later ones would silently overwrite it
+				errors.add(new BatchItemError(index, DUPLICATE_PRODUCT_ID));
+			} else {
+				validRequests.put(index, request);
+			}
+		}
+
+		final var ids = validRequests.values().stream().map(ProductBatchUpdateRequest::id).toList();
+		final var products = productRepository.findAllById(ids).stream()
+				.collect(toMap(Product::getId, identity()));
+
+		final var updated = new ArrayList<Product>(validRequests.size());
+		validRequests.forEach((index, request) -> {
+			final var product = products.get(request.id());
+			if (product == null) {
+				errors.add(new BatchItemError(index, PRODUCT_NOT_FOUND));
+				return;
+			}
+			// dirty checking flushes these as batched UPDATE statements on commit
+			mapper.updateEntity(product, request.product());
+			updated.add(product);
+		});
+		// write now, so the returned products carry their new versions
+		entityManager.flush();
+		invalidateReads(products.keySet());
+		errors.sort(comparingInt(BatchItemError::index));
+
+		return new BatchResponse<>(mapper.from(updated), errors);
 	}
 
 	@Transactional
-	public void deleteProduct(Long id) throws ProductNotFoundException {
-		final var product = getProduct(id);
+	public BatchResponse<Long> deleteProducts(List<Long> ids) {
+		final var requestedIds = ids.stream().filter(Objects::nonNull).toList();
+		final var existingIds = requestedIds.isEmpty()
+				? new HashSet<Long>()
+				: new HashSet<>(productRepository.findExistingIds(requestedIds));
+
+		final var errors = new ArrayList<BatchItemError>();
+		final var deleted = new ArrayList<Long>(existingIds.size());
+		for (int index = 0; index < ids.size(); index++) {
+			final var id = ids.get(index);
+			if (id == null) {
+				errors.add(new BatchItemError(index, ITEM_MUST_NOT_BE_NULL));
+			} else if (existingIds.remove(id)) {
+				deleted.add(id);
+			} else {
+				errors.add(new BatchItemError(index, PRODUCT_NOT_FOUND));
+			}
+		}
+
+		if (!deleted.isEmpty()) {
+			productRepository.deleteAllByIdInBatch(deleted);
+			invalidateReads(deleted);
+		}
+
+		return new BatchResponse<>(deleted, errors);
+	}
+
+	private void invalidateReads(Iterable<Long> ids) {
+		invalidateLoads(ids);
+		final Cache cache = cacheManager.getCache(PRODUCTS_CACHE);
+		if (cache != null) {
+			// deferred until commit by the transaction-aware cache
+			ids.forEach(cache::evict);
+		}
+	}
+
+	/**
+	 * Stops sharing running loads of the products and drops them from the second-level cache, once the
+	 * transaction has committed: a load made before would put the previous state back. The change notification
+	 * drops them again on every node.
+	 */
+	private void invalidateLoads(Iterable<Long> ids) {
+		productLoader.invalidate(ids);
+		final var entityCache = entityManager.getEntityManagerFactory().getCache();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					ids.forEach(id -> entityCache.evict(Product.class, id));
+				}
+			});
+		} else {
+			ids.forEach(id -> entityCache.evict(Product.class, id));
+		}
+	}
+
+	private static Specification<Product> matching(ProductPageRequest page) {
+		final var keyset = page.sort().byPrice()
+				? ProductSpecifications.priceAfter(priceDirection(page.sort()), page.afterPrice(), page.after())
+				: ProductSpecifications.idAfter(page.after());
+
+		return Specification.allOf(
+				ProductSpecifications.priceAtLeast(page.minPrice()),
+				ProductSpecifications.priceAtMost(page.maxPrice()),
+				ProductSpecifications.nameStartsWith(page.nameStartsWith()),
+				keyset);
+	}
+
+	private static Sort order(ProductSort sort) {
+		return sort.byPrice() ? ProductSpecifications.byPrice(priceDirection(sort)) : ProductSpecifications.byId();
+	}
+
+	private static Sort.Direction priceDirection(ProductSort sort) {
+		return sort == ProductSort.PRICE_DESC ? Sort.Direction.DESC : Sort.Direction.ASC;
+	}
+
+	private Optional<String> validate(Object item) {
+		if (item == null) {
+			return Optional.of(ITEM_MUST_NOT_BE_NULL);
+		}
+
+		final var violations = validator.validate(item);
+		if (violations.isEmpty()) {
+			return Optional.empty();
+		}
 
-		productRepository.delete(product);
+		return Optional.of(violations.stream()
+				.sorted(comparing(violation -> violation.getPropertyPath().toString()))
+				.map(ProductServiceImpl::describe)
+				.collect(joining("; ")));
 	}
 
-	private Product getProduct(Long id) throws ProductNotFoundException {
-		return productRepository.findById(id)
-				.orElseThrow(() -> new ProductNotFoundException("Product not found"));
+	private static String describe(ConstraintViolation<?> violation) {
+		return violation.getPropertyPath() + ": " + violation.getMessage();
 	}
 }
@@ -0,0 +1,20 @@
+package org.backend.developer.assignment.writebehind;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.backend.developer.assignment.api.dto.request.ProductRequest;
+
+/**
+ * An accepted update waiting to be written, as logged. An entry without token and product discards the update
+ * of the product logged before it.
+ */
+record PendingUpdate(String token, long productId, ProductRequest product) {
+
+	static PendingUpdate discard(long productId) {
+		return new PendingUpdate(null, productId, null);
+	}
+
+	@JsonIgnore
+	boolean isDiscard() {
+		return product == null;
+	}
+}
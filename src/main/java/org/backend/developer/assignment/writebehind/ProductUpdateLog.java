@@ -0,0 +1,134 @@
+package org.backend.developer.assignment.writebehind;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Append-only log of accepted updates, one JSON line each, in numbered segment files. Appends go to the
+ * current segment; {@link #roll()} starts a new one, and the segments before it are deleted by
+ * {@link #deleteRolledSegments()} once their updates are written or logged again.
+ * Not thread-safe except for {@link #sync()}: callers serialize the other methods.
+ */
+@Slf4j
+final class ProductUpdateLog implements Closeable {
+
+	private static final String SEGMENT_PREFIX = "updates-";
+	private static final String SEGMENT_SUFFIX = ".log";
+
+	private final Path directory;
+	private final ObjectMapper objectMapper;
+	private final List<Path> rolledSegments = new ArrayList<>();
+	private long segmentNumber;
+	private volatile FileChannel segment;
+
+	/**
+	 * Opens a new segment in the directory. Segments left by a previous run count as rolled.
+	 */
+	ProductUpdateLog(Path directory, ObjectMapper objectMapper) throws IOException {
+		this.directory = Files.createDirectories(directory);
+		this.objectMapper = objectMapper;
+		try (var files = Files.list(directory)) {
+			files.filter(ProductUpdateLog::isSegment)
+					.sorted(Comparator.comparingLong(ProductUpdateLog::segmentNumber))
+					.forEach(rolledSegments::add);
+		}
+		this.segmentNumber = rolledSegments.isEmpty() ? 0 : segmentNumber(rolledSegments.getLast());
+		this.segment = openSegment();
+	}
+
+	/**
+	 * @return the updates of the rolled segments in the order they were logged; a line torn by a crash
+	 * while it was appended is skipped, as its update was never acknowledged
+	 */
+	List<PendingUpdate> replay() throws IOException {
+		final var updates = new ArrayList<PendingUpdate>();
+		for (final var rolledSegment : rolledSegments) {
+			for (final var line : Files.readAllLines(rolledSegment, StandardCharsets.UTF_8)) {
+				try {
+					updates.add(objectMapper.readValue(line, PendingUpdate.class));
+				} catch (JsonProcessingException e) {
+					log.warn("Skipping unreadable line of {}", rolledSegment.getFileName());
+				}
+			}
+		}
+		return updates;
+	}
+
+	void append(PendingUpdate update) throws IOException {
+		final var line = objectMapper.writeValueAsBytes(update);
+		final var buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+		while (buffer.hasRemaining()) {
+			segment.write(buffer);
+		}
+	}
+
+	/**
+	 * Forces what has been appended to disk. Concurrent callers share the writes of a single force.
+	 */
+	void sync() throws IOException {
+		try {
+			segment.force(false);
+		} catch (ClosedChannelException e) {
+			// the segment was rolled, which forced it
+		}
+	}
+
+	void roll() throws IOException {
+		final var rolledSegment = segment;
+		rolledSegment.force(false);
+		segment = openSegment();
+		rolledSegment.close();
+		rolledSegments.add(segmentPath(segmentNumber - 1));
+	}
+
+	boolean hasRolledSegments() {
+		return !rolledSegments.isEmpty();
+	}
+
+	void deleteRolledSegments() throws IOException {
+		for (final var rolledSegment : rolledSegments) {
+			Files.deleteIfExists(rolledSegment);
+		}
+		rolledSegments.clear();
+	}
+
+	@Override
+	public void close() throws IOException {
+		segment.close();
+	}
+
+	private FileChannel openSegment() throws IOException {
+		return FileChannel.open(segmentPath(++segmentNumber), CREATE_NEW, WRITE, APPEND);
+	}
+
+	private Path segmentPath(long number) {
+		return directory.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+	}
+
+	private static boolean isSegment(Path file) {
+		final var name = file.getFileName().toString();
+		return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+	}
+
+	private static long segmentNumber(Path segment) {
+		final var name = segment.getFileName().toString();
+		return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+	}
+}
@@ -0,0 +1,322 @@
+package org.backend.developer.assignment.writebehind;
+
+import static org.backend.developer.assignment.api.dto.response.ProductUpdateStatus.APPLIED;
+import static org.backend.developer.assignment.api.dto.response.ProductUpdateStatus.NOT_FOUND;
+import static org.backend.developer.assignment.api.dto.response.ProductUpdateStatus.PENDING;
+import static org.backend.developer.assignment.api.dto.response.ProductUpdateStatus.SUPERSEDED;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.backend.developer.assignment.api.dto.request.ProductBatchUpdateRequest;
+import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.response.ProductUpdateStatus;
+import org.backend.developer.assignment.api.dto.response.ProductUpdateTicket;
+import org.backend.developer.assignment.exception.ServiceOverloadedException;
+import org.backend.developer.assignment.service.ProductService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Accepts product updates for writing later, for clients that push many of them and need not wait for each
+ * one. At most one update per product waits: a later update of the same product replaces the waiting one.
+ * Waiting updates are written every {@code product.write-behind.flush-interval}, or as soon as
+ * {@code max-batch-size} of them wait, with one {@link ProductService#updateProducts} transaction per batch.
+ * <p>
+ * An update is logged to disk before it is acknowledged, and the log is replayed on startup, so accepted
+ * updates survive a crash. Updates are written at least once: one written just before a crash may be
+ * written again after the restart. Tickets of replayed updates are restored as pending, since their tokens
+ * are logged, but outcomes are kept in memory only: a ticket resolved before the restart is no longer known.
+ * <p>
+ * An update written synchronously must first {@link #supersede} the waiting one, which a flush would
+ * otherwise write over it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product.write-behind", name = "enabled")
+public class ProductWriteBehindQueue {
+
+	private final ProductService productService;
+	private final WriteBehindProperties properties;
+	private final AsyncTaskExecutor executor;
+	private final ProductUpdateLog updateLog;
+	private final Cache<String, ProductUpdateTicket> tickets;
+
+	private final Lock lock = new ReentrantLock();
+	private Map<Long, PendingUpdate> pending = new LinkedHashMap<>();
+	/**
+	 * updates taken by the flush in progress
+	 */
+	private Map<Long, PendingUpdate> writing = Map.of();
+	private final Lock flushLock = new ReentrantLock();
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+	public ProductWriteBehindQueue(ProductService productService, ObjectMapper objectMapper,
+	                               WriteBehindProperties properties, AsyncTaskExecutor applicationTaskExecutor,
+	                               MeterRegistry registry) throws IOException {
+		this.productService = productService;
+		this.properties = properties;
+		this.executor = applicationTaskExecutor;
+		this.updateLog = new ProductUpdateLog(properties.logDirectory(), objectMapper);
+		this.tickets = Caffeine.newBuilder()
+				.expireAfterWrite(properties.ticketRetention())
+				.build();
+
+		final var replayed = updateLog.replay();
+		for (final var update : replayed) {
+			if (update.isDiscard()) {
+				final var superseded = pending.remove(update.productId());
+				if (superseded != null) {
+					setStatus(superseded, SUPERSEDED);
+				}
+			} else {
+				enqueue(update);
+			}
+		}
+		if (!replayed.isEmpty()) {
+			log.info("Replayed {} logged product updates, {} products to write", replayed.size(), pending.size());
+		}
+
+		Gauge.builder("product.write.behind.pending", this, ProductWriteBehindQueue::pendingUpdates)
+				.description("Products with an accepted update waiting to be written")
+				.register(registry);
+	}
+
+	/**
+	 * Accepts an update of a product, to be written by a later flush.
+	 *
+	 * @return the ticket to follow the update by
+	 * @throws ServiceOverloadedException if too many products have an update waiting
+	 */
+	public ProductUpdateTicket accept(long productId, ProductRequest product) {
+		final var update = new PendingUpdate(UUID.randomUUID().toString(), productId, product);
+		final ProductUpdateTicket ticket;
+		final boolean batchFull;
+		lock.lock();
+		try {
+			if (pending.size() >= properties.maxPending() && !pending.containsKey(productId)) {
+				throw new ServiceOverloadedException("Too many product updates waiting to be written",
+						properties.retryAfter());
+			}
+			// logged and queued together, so that a flush rolling the log over sees both or neither
+			updateLog.append(update);
+			ticket = enqueue(update);
+			batchFull = pending.size() >= properties.maxBatchSize();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			lock.unlock();
+		}
+
+		try {
+			updateLog.sync();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (batchFull && flushRequested.compareAndSet(false, true)) {
+			executor.execute(this::flush);
+		}
+		return ticket;
+	}
+
+	/**
+	 * Drops the update of a product that is waiting, before the product is updated synchronously, and waits for
+	 * a flush writing one meanwhile, so that neither lands after the synchronous update.
+	 */
+	public void supersede(long productId) {
+		final boolean beingWritten;
+		var logged = false;
+		lock.lock();
+		try {
+			beingWritten = writing.containsKey(productId);
+			logged = discard(productId, beingWritten);
+		} finally {
+			lock.unlock();
+		}
+
+		if (beingWritten) {
+			flushLock.lock();
+			try {
+				lock.lock();
+				try {
+					// the flush puts the update back if its batch failed
+					logged |= discard(productId, false);
+				} finally {
+					lock.unlock();
+				}
+			} finally {
+				flushLock.unlock();
+			}
+		}
+
+		if (logged) {
+			try {
+				updateLog.sync();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	public Optional<ProductUpdateTicket> ticket(String token) {
+		return Optional.ofNullable(tickets.getIfPresent(token));
+	}
+
+	public int pendingUpdates() {
+		lock.lock();
+		try {
+			return pending.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes every waiting update. Batches that fail as a whole, e.g. while the database is unavailable,
+	 * wait for the next flush unless a later update of their product has arrived meanwhile.
+	 */
+	@Scheduled(fixedDelayString = "${product.write-behind.flush-interval:200ms}")
+	public void flush() {
+		flushRequested.set(false);
+		if (!flushLock.tryLock()) {
+			return;
+		}
+		try {
+			final Collection<PendingUpdate> updates;
+			lock.lock();
+			try {
+				if (pending.isEmpty() && !updateLog.hasRolledSegments()) {
+					return;
+				}
+				// rolled first, so that the updates stay waiting if it fails
+				updateLog.roll();
+				updates = pending.values();
+				writing = pending;
+				pending = new LinkedHashMap<>();
+			} finally {
+				lock.unlock();
+			}
+
+			final var failed = write(updates);
+			lock.lock();
+			try {
+				writing = Map.of();
+				final var requeued = new ArrayList<PendingUpdate>(failed.size());
+				for (final var update : failed) {
+					if (pending.putIfAbsent(update.productId(), update) == null) {
+						requeued.add(update);
+					} else {
+						setStatus(update, SUPERSEDED);
+					}
+				}
+				// every failed update waits again before any is logged; until all are, the rolled segments keep them
+				for (final var update : requeued) {
+					updateLog.append(update);
+				}
+				updateLog.sync();
+				updateLog.deleteRolledSegments();
+			} finally {
+				lock.unlock();
+			}
+		} catch (IOException e) {
+			log.warn("Failed to maintain the product update log", e);
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		flush();
+		updateLog.close();
+	}
+
+	/**
+	 * @return the updates of the batches that failed as a whole
+	 */
+	private List<PendingUpdate> write(Collection<PendingUpdate> updates) {
+		final var failed = new ArrayList<PendingUpdate>();
+		final var batch = new ArrayList<PendingUpdate>(Math.min(updates.size(), properties.maxBatchSize()));
+		for (final var update : updates) {
+			batch.add(update);
+			if (batch.size() == properties.maxBatchSize()) {
+				writeBatch(batch, failed);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			writeBatch(batch, failed);
+		}
+		return failed;
+	}
+
+	private void writeBatch(List<PendingUpdate> batch, List<PendingUpdate> failed) {
+		final var requests = batch.stream()
+				.map(update -> new ProductBatchUpdateRequest(update.productId(), update.product()))
+				.toList();
+		try {
+			final var response = productService.updateProducts(requests);
+			final var statuses = new ProductUpdateStatus[batch.size()];
+			// updates were validated when accepted, so a missing product is the only reason left to fail
+			response.errors().forEach(error -> statuses[error.index()] = NOT_FOUND);
+			for (int index = 0; index < batch.size(); index++) {
+				setStatus(batch.get(index), statuses[index] == null ? APPLIED : statuses[index]);
+			}
+		} catch (RuntimeException e) {
+			log.warn("Failed to write {} product updates, retrying with the next flush", batch.size(), e);
+			failed.addAll(batch);
+		}
+	}
+
+	/**
+	 * Removes the waiting update of a product, logging the removal so that a replay does not bring the update back.
+	 */
+	private boolean discard(long productId, boolean beingWritten) {
+		final var superseded = pending.remove(productId);
+		if (superseded == null && !beingWritten) {
+			return false;
+		}
+		try {
+			updateLog.append(PendingUpdate.discard(productId));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (superseded != null) {
+			setStatus(superseded, SUPERSEDED);
+		}
+		return true;
+	}
+
+	private ProductUpdateTicket enqueue(PendingUpdate update) {
+		final var superseded = pending.put(update.productId(), update);
+		if (superseded != null) {
+			setStatus(superseded, SUPERSEDED);
+		}
+		return setStatus(update, PENDING);
+	}
+
+	private ProductUpdateTicket setStatus(PendingUpdate update, ProductUpdateStatus status) {
+		final var ticket = new ProductUpdateTicket(update.token(), update.productId(), status);
+		tickets.put(update.token(), ticket);
+		return ticket;
+	}
+}
@@ -0,0 +1,28 @@
+package org.backend.developer.assignment.writebehind;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param enabled         whether updates may be accepted for asynchronous writing with {@code Prefer: respond-async}
+ * @param logDirectory    where accepted updates are logged until written; must survive restarts
+ * @param maxPending      number of products with an update waiting to be written before new ones are refused
+ * @param maxBatchSize    number of updates written per transaction, and waiting updates that start a flush early
+ * @param flushInterval   how often waiting updates are written
+ * @param ticketRetention how long the outcome of an update can be looked up
+ * @param retryAfter      delay suggested through the {@code Retry-After} header while the queue is full
+ */
+@ConfigurationProperties(prefix = "product.write-behind")
+public record WriteBehindProperties(
+		@DefaultValue("false") boolean enabled,
+		@DefaultValue("write-behind-log") Path logDirectory,
+		@DefaultValue("100000") int maxPending,
+		@DefaultValue("500") int maxBatchSize,
+		@DefaultValue("200ms") Duration flushInterval,
+		@DefaultValue("10m") Duration ticketRetention,
+		@DefaultValue("1s") Duration retryAfter
+) {
+}
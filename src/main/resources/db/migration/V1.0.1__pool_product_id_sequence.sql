@@ -0,0 +1,2 @@
+-- Hands out ids in blocks of 50 so Hibernate can batch inserts (allocationSize = 50, pooled-lo optimizer)
+ALTER SEQUENCE product_id_seq INCREMENT BY 50
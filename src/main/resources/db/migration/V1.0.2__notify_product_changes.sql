@@ -0,0 +1,19 @@
+-- Publishes the id of every inserted, updated or deleted product on the product_changes channel.
+-- Notifications are delivered only after the writing transaction commits.
+CREATE FUNCTION notify_product_change() RETURNS TRIGGER AS
+$$
+BEGIN
+	IF TG_OP = 'DELETE' THEN
+		PERFORM pg_notify('product_changes', OLD.id::TEXT);
+	ELSE
+		PERFORM pg_notify('product_changes', NEW.id::TEXT);
+	END IF;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER product_change_notify
+	AFTER INSERT OR UPDATE OR DELETE
+	ON product
+	FOR EACH ROW
+EXECUTE FUNCTION notify_product_change();
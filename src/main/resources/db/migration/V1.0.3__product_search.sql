@@ -0,0 +1,13 @@
+-- Full-text search over name (weight A) and description (weight B), kept up to date by PostgreSQL.
+ALTER TABLE product
+	ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+		setweight(to_tsvector('english', name), 'A') ||
+		setweight(to_tsvector('english', coalesce(description, '')), 'B')
+	) STORED;
+
+CREATE INDEX product_search_vector_idx ON product USING GIN (search_vector);
+
+-- Trigram index serving case-insensitive prefix matches on name (name ILIKE 'abc%').
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX product_name_trgm_idx ON product USING GIN (name gin_trgm_ops);
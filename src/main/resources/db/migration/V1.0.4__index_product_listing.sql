@@ -0,0 +1,5 @@
+-- Price ranges and price-ordered keyset pages; also serves a plain price filter as its leading column.
+CREATE INDEX product_price_id_idx ON product (price, id);
+
+-- Case-insensitive name prefix filter (lower(name) LIKE 'abc%').
+CREATE INDEX product_name_lower_prefix_idx ON product (lower(name) text_pattern_ops);
@@ -0,0 +1,19 @@
+-- Row version for optimistic locking and entity tags.
+ALTER TABLE product
+	ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Bumps the version on every update, including ones not made through the application,
+-- so an unchanged version always means an unchanged row. Agrees with the value the application writes.
+CREATE FUNCTION increment_product_version() RETURNS TRIGGER AS
+$$
+BEGIN
+	NEW.version := OLD.version + 1;
+	RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER product_version_increment
+	BEFORE UPDATE
+	ON product
+	FOR EACH ROW
+EXECUTE FUNCTION increment_product_version();
@@ -0,0 +1,65 @@
+-- Time of the last write to each product.
+ALTER TABLE product
+	ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+DROP TRIGGER product_version_increment ON product;
+DROP FUNCTION increment_product_version();
+
+CREATE FUNCTION touch_product() RETURNS TRIGGER AS
+$$
+BEGIN
+	NEW.version := OLD.version + 1;
+	NEW.updated_at := now();
+	RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER product_touch
+	BEFORE UPDATE
+	ON product
+	FOR EACH ROW
+EXECUTE FUNCTION touch_product();
+
+-- Outbox of product changes, read in (txid, seq) order by the change feed.
+-- txid is the id of the writing transaction: every change of a transaction older than the
+-- snapshot xmin is committed or gone, so the feed never skips a change that commits later.
+CREATE TABLE product_change
+(
+	seq        BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+	txid       BIGINT      NOT NULL DEFAULT pg_current_xact_id()::TEXT::BIGINT,
+	product_id BIGINT      NOT NULL,
+	operation  VARCHAR(6)  NOT NULL CHECK (operation IN ('INSERT', 'UPDATE', 'DELETE')),
+	changed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX product_change_cursor_idx ON product_change (txid, seq);
+CREATE INDEX product_change_changed_at_idx ON product_change USING BRIN (changed_at);
+
+-- Position of the newest pruned change; cursors before it can no longer be served.
+CREATE TABLE product_change_horizon
+(
+	singleton BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (singleton),
+	txid      BIGINT NOT NULL,
+	seq       BIGINT NOT NULL
+);
+
+INSERT INTO product_change_horizon (txid, seq)
+VALUES (0, 0);
+
+CREATE FUNCTION record_product_change() RETURNS TRIGGER AS
+$$
+BEGIN
+	IF TG_OP = 'DELETE' THEN
+		INSERT INTO product_change (product_id, operation) VALUES (OLD.id, TG_OP);
+	ELSE
+		INSERT INTO product_change (product_id, operation) VALUES (NEW.id, TG_OP);
+	END IF;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER product_change_record
+	AFTER INSERT OR UPDATE OR DELETE
+	ON product
+	FOR EACH ROW
+EXECUTE FUNCTION record_product_change();
@@ -0,0 +1,3 @@
+-- Prices in cents, up to 9,999,999,999.99. Prices written with more decimals are rounded to the cent.
+ALTER TABLE product
+	ALTER COLUMN price TYPE NUMERIC(12, 2);
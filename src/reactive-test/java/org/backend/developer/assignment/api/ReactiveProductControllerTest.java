@@ -0,0 +1,127 @@
+package org.backend.developer.assignment.api;
+
+import static org.mockito.BDDMockito.given;
+
+import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.event.ProductListingVersion;
+import org.backend.developer.assignment.exception.ProductNotFoundException;
+import org.backend.developer.assignment.exception.ProductVersionMismatchException;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.backend.developer.assignment.repository.ProductChangeRepository;
+import org.backend.developer.assignment.service.ReactiveProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+@WebFluxTest(ReactiveProductController.class)
+@Import(ProductListingVersion.class)
+class ReactiveProductControllerTest {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@MockitoBean
+	private ReactiveProductService productService;
+
+	@MockitoBean
+	private ProductMetrics productMetrics;
+
+	@MockitoBean
+	private ProductChangeRepository productChangeRepository;
+
+	@MockitoBean
+	private TaskScheduler taskScheduler;
+
+	@Test
+	void getProducts_FullPage_ShouldReturnNextLink() {
+		given(productService.getProducts(10L, 2)).willReturn(Flux.just(
+				new ProductResponse(11L, "Product 11", "Some product", new BigDecimal("100.00"), 0),
+				new ProductResponse(12L, "Product 12", "Some product", new BigDecimal("150.00"), 0)));
+
+		webTestClient.get().uri("/products?after=10&limit=2")
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.LINK, "</products?after=12&limit=2>; rel=\"next\"")
+				.expectBody()
+				.jsonPath("$.size()").isEqualTo(2)
+				.jsonPath("$[1].id").isEqualTo(12);
+	}
+
+	@Test
+	void getProducts_LimitTooLarge_ShouldReturnBadRequest() {
+		webTestClient.get().uri("/products?limit=100000")
+				.exchange()
+				.expectStatus().isBadRequest();
+	}
+
+	@Test
+	void streamProducts_ShouldWriteNewlineDelimitedJson() {
+		given(productService.streamProducts()).willReturn(Flux.just(
+				new ProductResponse(1L, "Product 1", "Some product", new BigDecimal("100.00"), 0),
+				new ProductResponse(2L, "Product 2", "Some product", new BigDecimal("150.00"), 0)));
+
+		webTestClient.get().uri("/products")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+				.expectBody(String.class).isEqualTo(
+						"{\"id\":1,\"name\":\"Product 1\",\"description\":\"Some product\",\"price\":100.00,\"version\":0}\n"
+								+ "{\"id\":2,\"name\":\"Product 2\",\"description\":\"Some product\",\"price\":150.00,\"version\":0}\n");
+	}
+
+	@Test
+	void getProductById_MatchingIfNoneMatch_ShouldReturnNotModified() {
+		given(productService.getProductById(1L))
+				.willReturn(Mono.just(new ProductResponse(1L, "Product", "Some product", new BigDecimal("100.00"), 3)));
+
+		webTestClient.get().uri("/products/1")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+				.exchange()
+				.expectStatus().isNotModified();
+	}
+
+	@Test
+	void getProductById_InvalidId_ShouldReturnNotFound() {
+		given(productService.getProductById(1L))
+				.willReturn(Mono.error(new ProductNotFoundException("Product not found")));
+
+		webTestClient.get().uri("/products/1")
+				.exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void createProduct_InvalidRequest_ShouldReturnBadRequest() {
+		webTestClient.post().uri("/products")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new ProductRequest("", "Some product", new BigDecimal("100.00")))
+				.exchange()
+				.expectStatus().isBadRequest();
+	}
+
+	@Test
+	void updateProduct_StaleIfMatch_ShouldReturnPreconditionFailed() {
+		ProductRequest request = new ProductRequest("Product", "Some product", new BigDecimal("100.00"));
+		given(productService.updateProduct(1L, request, 2L))
+				.willReturn(Mono.error(new ProductVersionMismatchException("Product has been changed")));
+
+		webTestClient.put().uri("/products/1")
+				.header(HttpHeaders.IF_MATCH, "\"2\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(request)
+				.exchange()
+				.expectStatus().isEqualTo(412);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package org.backend.developer.assignment.service.impl;
+
+import static org.backend.developer.assignment.config.CacheConfig.PRODUCTS_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.exception.ProductNotFoundException;
+import org.backend.developer.assignment.exception.ProductVersionMismatchException;
+import org.backend.developer.assignment.id.SnowflakeIds;
+import org.backend.developer.assignment.mapper.ProductRowMapper;
+import org.backend.developer.assignment.model.ProductRow;
+import org.backend.developer.assignment.repository.ReactiveProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Limit;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+class ReactiveProductServiceImplTest {
+
+	private final ReactiveProductRepository productRepository = mock(ReactiveProductRepository.class);
+
+	private final ProductRowMapper productMapper = mock(ProductRowMapper.class);
+
+	private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(PRODUCTS_CACHE);
+
+	private final ReactiveProductServiceImpl productService =
+			new ReactiveProductServiceImpl(productMapper, productRepository, SnowflakeIds.forNode(0), cacheManager);
+
+
+	@Test
+	void getProducts_ReturnsPageOfProducts() {
+		ProductRow row = new ProductRow(11L, "Product", "Desc", new BigDecimal("100.00"), 0);
+		ProductResponse productResponse = new ProductResponse(11L, "Product", "Desc", new BigDecimal("100.00"), 0);
+
+		when(productRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(50))).thenReturn(Flux.just(row));
+		when(productMapper.from(row)).thenReturn(productResponse);
+
+		StepVerifier.create(productService.getProducts(10L, 50))
+				.expectNext(productResponse)
+				.verifyComplete();
+	}
+
+	@Test
+	void getProductById_NotCached_ReadsAndCachesProduct() {
+		ProductRow row = new ProductRow(1L, "Product", "Desc", new BigDecimal("100.00"), 0);
+		ProductResponse productResponse = new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 0);
+
+		when(productRepository.findById(1L)).thenReturn(Mono.just(row));
+		when(productMapper.from(row)).thenReturn(productResponse);
+
+		StepVerifier.create(productService.getProductById(1L))
+				.expectNext(productResponse)
+				.verifyComplete();
+		assertEquals(productResponse, cacheManager.getCache(PRODUCTS_CACHE).get(1L, ProductResponse.class));
+	}
+
+	@Test
+	void getProductById_Cached_SkipsRepository() {
+		ProductResponse productResponse = new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 0);
+		cacheManager.getCache(PRODUCTS_CACHE).put(1L, productResponse);
+
+		StepVerifier.create(productService.getProductById(1L))
+				.expectNext(productResponse)
+				.verifyComplete();
+		verify(productRepository, never()).findById(1L);
+	}
+
+	@Test
+	void getProductById_NonExistentId_SignalsProductNotFound() {
+		when(productRepository.findById(1L)).thenReturn(Mono.empty());
+
+		StepVerifier.create(productService.getProductById(1L))
+				.verifyError(ProductNotFoundException.class);
+	}
+
+	@Test
+	void updateProduct_StaleVersion_SignalsVersionMismatch() {
+		ProductRequest request = new ProductRequest("Product", "Desc", new BigDecimal("100.00"));
+
+		when(productRepository.updateByIdAndVersion(1L, 2L, "Product", "Desc", new BigDecimal("100.00"))).thenReturn(Mono.empty());
+		when(productRepository.existsById(1L)).thenReturn(Mono.just(true));
+
+		StepVerifier.create(productService.updateProduct(1L, request, 2L))
+				.verifyError(ProductVersionMismatchException.class);
+	}
+
+	@Test
+	void updateProduct_NonExistentIdWithVersion_SignalsProductNotFound() {
+		ProductRequest request = new ProductRequest("Product", "Desc", new BigDecimal("100.00"));
+
+		when(productRepository.updateByIdAndVersion(1L, 2L, "Product", "Desc", new BigDecimal("100.00"))).thenReturn(Mono.empty());
+		when(productRepository.existsById(1L)).thenReturn(Mono.just(false));
+
+		StepVerifier.create(productService.updateProduct(1L, request, 2L))
+				.verifyError(ProductNotFoundException.class);
+	}
+
+	@Test
+	void updateProduct_UpdatesCachedProduct() {
+		ProductRequest request = new ProductRequest("Product", "Desc", new BigDecimal("100.00"));
+		ProductRow row = new ProductRow(1L, "Product", "Desc", new BigDecimal("100.00"), 1);
+		ProductResponse productResponse = new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 1);
+
+		when(productRepository.updateById(1L, "Product", "Desc", new BigDecimal("100.00"))).thenReturn(Mono.just(row));
+		when(productMapper.from(row)).thenReturn(productResponse);
+
+		StepVerifier.create(productService.updateProduct(1L, request))
+				.expectNext(productResponse)
+				.verifyComplete();
+		assertEquals(productResponse, cacheManager.getCache(PRODUCTS_CACHE).get(1L, ProductResponse.class));
+	}
+
+	@Test
+	void deleteProduct_EvictsCachedProduct() {
+		cacheManager.getCache(PRODUCTS_CACHE).put(1L, new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 0));
+
+		when(productRepository.deleteProductById(1L)).thenReturn(Mono.just(1));
+
+		StepVerifier.create(productService.deleteProduct(1L))
+				.verifyComplete();
+		assertNull(cacheManager.getCache(PRODUCTS_CACHE).get(1L));
+	}
+
+	@Test
+	void deleteProduct_NonExistentId_SignalsProductNotFound() {
+		when(productRepository.deleteProductById(1L)).thenReturn(Mono.just(0));
+
+		StepVerifier.create(productService.deleteProduct(1L))
+				.verifyError(ProductNotFoundException.class);
+	}
+}
\ No newline at end of file
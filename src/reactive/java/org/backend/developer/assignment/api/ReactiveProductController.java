@@ -0,0 +1,199 @@
+package org.backend.developer.assignment.api;
+
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.event.ProductListingVersion;
+import org.backend.developer.assignment.service.ReactiveProductService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The {@code /products} API of {@link ProductController} on WebFlux, for the reactive profile.
+ * Covers reads by id keyset, the NDJSON stream and single-product writes with the same status codes,
+ * headers and entity tags; filtering, sorting, search and bulk operations are served by the servlet stack only.
+ */
+@Tag(name = "Products", description = "API for managing Products")
+@RestController
+@RequestMapping("/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveProductController {
+
+	private static final String DEFAULT_PAGE_LIMIT = "100";
+	private static final int MAX_PAGE_LIMIT = 1000;
+
+	private final ReactiveProductService productService;
+	private final Optional<ProductListingVersion> listingVersion;
+
+	@Operation(summary = "Get a page of products",
+			description = "Returns up to `limit` products ordered by id, continuing after the product given by `after`. "
+					+ "When more products may follow, a `Link` header with `rel=\"next\"` points to the next page")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Successfully retrieved the page of products"),
+			@ApiResponse(responseCode = "304",
+					description = "No product has changed since the listing tagged by `If-None-Match`"),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid request supplied")
+	})
+	@GetMapping
+	public Mono<ResponseEntity<List<ProductResponse>>> getProducts(
+			@Parameter(description = "Id of the last product of the previous page")
+			@RequestParam(defaultValue = "0") @PositiveOrZero long after,
+			@Parameter(description = "Maximum number of products to return")
+			@RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) @Min(1) @Max(MAX_PAGE_LIMIT) int limit,
+			ServerWebExchange exchange) {
+		if (listingNotModified(exchange)) {
+			return Mono.empty();
+		}
+
+		return productService.getProducts(after, limit)
+				.collectList()
+				.map(products -> {
+					final var response = ResponseEntity.ok();
+					if (products.size() == limit) {
+						response.header(HttpHeaders.LINK, nextPageLink(exchange, products.getLast().id(), limit));
+					}
+					return response.body(products);
+				});
+	}
+
+	@Operation(summary = "Stream all products",
+			description = "Streams every product ordered by id as newline-delimited JSON, one product per line")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Successfully started streaming the products"),
+			@ApiResponse(responseCode = "304",
+					description = "No product has changed since the listing tagged by `If-None-Match`")
+	})
+	@GetMapping(produces = APPLICATION_NDJSON_VALUE)
+	public Mono<ResponseEntity<Flux<ProductResponse>>> streamProducts(ServerWebExchange exchange) {
+		if (listingNotModified(exchange)) {
+			return Mono.empty();
+		}
+
+		return Mono.just(ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(productService.streamProducts()));
+	}
+
+	@Operation(summary = "Get existing product",
+			description = "Returns a product if exists, tagged with its version in the `ETag` header")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Successfully retrieved the product by id"),
+			@ApiResponse(responseCode = "304",
+					description = "The product is unchanged since the version tagged by `If-None-Match`"),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid request supplied"),
+			@ApiResponse(responseCode = "404",
+					description = "Product not found")
+	})
+	@GetMapping("/{id}")
+	public Mono<ResponseEntity<ProductResponse>> getProductById(@PathVariable Long id) {
+		return productService.getProductById(id)
+				// answered with 304 and no body when it matches If-None-Match
+				.map(product -> ResponseEntity.ok().eTag(ProductETags.of(product)).body(product));
+	}
+
+	@Operation(summary = "Create a new product",
+			description = "Creates a new product with the given details")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "201",
+					description = "Successfully created the product"),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid product data supplied")})
+	@PostMapping
+	public Mono<ResponseEntity<ProductResponse>> createProduct(@RequestBody @Valid ProductRequest request) {
+		return productService.createProduct(request)
+				.map(product -> ResponseEntity.status(CREATED).eTag(ProductETags.of(product)).body(product));
+	}
+
+	@Operation(summary = "Update existing product",
+			description = "Updates a product with the given details if it exists. "
+					+ "With `If-Match`, only if the product is still at the tagged version")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+					description = "Successfully updated the product"),
+			@ApiResponse(responseCode = "400",
+					description = "Invalid product data supplied"),
+			@ApiResponse(responseCode = "404",
+					description = "Product not found"),
+			@ApiResponse(responseCode = "412",
+					description = "The product has changed since the version tagged by `If-Match`")})
+	@PutMapping("/{id}")
+	public Mono<ResponseEntity<ProductResponse>> updateProduct(@PathVariable Long id,
+	                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+	                                                           String ifMatch,
+	                                                           @RequestBody @Valid ProductRequest request) {
+		final var expectedVersion = ProductETags.ifMatchVersion(ifMatch);
+		final var updatedProduct = expectedVersion.isPresent()
+				? productService.updateProduct(id, request, expectedVersion.getAsLong())
+				: productService.updateProduct(id, request);
+		return updatedProduct
+				.map(product -> ResponseEntity.ok().eTag(ProductETags.of(product)).body(product));
+	}
+
+	@Operation(summary = "Delete a product",
+			description = "Deletes a product with the specified ID")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "204",
+					description = "Successfully deleted the product"),
+			@ApiResponse(responseCode = "404",
+					description = "Product not found")})
+	@DeleteMapping("/{id}")
+	public Mono<ResponseEntity<Void>> deleteProduct(@PathVariable Long id) {
+		return productService.deleteProduct(id)
+				.then(Mono.just(ResponseEntity.noContent().<Void>build()));
+	}
+
+	/**
+	 * Answers a listing request with 304 when no product has changed since the listing tagged by its
+	 * {@code If-None-Match}, before any query runs; otherwise tags the response with the current marker, if it
+	 * is known.
+	 */
+	private boolean listingNotModified(ServerWebExchange exchange) {
+		final var etag = listingVersion.map(ProductListingVersion::etag);
+		return etag.isPresent() && exchange.checkNotModified(etag.get());
+	}
+
+	private static String nextPageLink(ServerWebExchange exchange, long after, int limit) {
+		final var uri = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+				.replaceQueryParam("after", after)
+				.replaceQueryParam("limit", limit)
+				// the query string of the request is already encoded
+				.build(true)
+				.toUriString();
+		return "<" + uri + ">; rel=\"next\"";
+	}
+}
@@ -0,0 +1,42 @@
+package org.backend.developer.assignment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * The reactive profile: the products API on WebFlux and R2DBC, while JPA, Flyway and the change listener
+ * keep working over JDBC.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+	/**
+	 * Spring Boot backs off its JDBC data source as soon as an R2DBC connection factory exists,
+	 * so the primary pool is declared here, as {@link ReplicaDataSourceConfig} does when replicas are enabled.
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "product.datasource.replicas", name = "enabled", havingValue = "false",
+			matchIfMissing = true)
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+		return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	/**
+	 * Netty's event loop serves any number of connections from a few threads.
+	 * With Tomcat on the classpath too, Spring Boot would otherwise pick Tomcat's reactive adapter.
+	 */
+	@Bean
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+}
@@ -0,0 +1,28 @@
+package org.backend.developer.assignment.exception;
+
+import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+/**
+ * Answers invalid request bodies of the WebFlux controllers like {@link GlobalControllerExceptionHandler}
+ * answers those of Spring MVC; every other failure is handled there.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ReactiveControllerExceptionHandler {
+
+	private final ProductMetrics productMetrics;
+
+	@ExceptionHandler(WebExchangeBindException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ResponseEntity<String> handleBindFailure(WebExchangeBindException ex) {
+		productMetrics.validationFailure(ex.getClass());
+		return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+	}
+}
@@ -0,0 +1,16 @@
+package org.backend.developer.assignment.mapper;
+
+import static org.mapstruct.MappingConstants.ComponentModel.SPRING;
+
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.model.ProductRow;
+import org.mapstruct.Mapper;
+
+/**
+ * {@link ProductMapper} counterpart for the rows read over R2DBC by the reactive profile.
+ */
+@Mapper(componentModel = SPRING)
+public interface ProductRowMapper {
+
+	ProductResponse from(ProductRow row);
+}
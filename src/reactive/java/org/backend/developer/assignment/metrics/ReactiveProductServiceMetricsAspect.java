@@ -0,0 +1,47 @@
+package org.backend.developer.assignment.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times every call to {@code ReactiveProductService} into the same metrics as {@link ProductServiceMetricsAspect}.
+ * A call is timed from subscription to completion or error, since the method itself only assembles the pipeline.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ReactiveProductServiceMetricsAspect {
+
+	private final ProductMetrics metrics;
+
+	@Around("execution(* org.backend.developer.assignment.service.ReactiveProductService.*(..))")
+	public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+		final var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		if (Mono.class.isAssignableFrom(method.getReturnType())) {
+			final var mono = (Mono<?>) joinPoint.proceed();
+			return Mono.defer(() -> {
+				final var start = System.nanoTime();
+				return mono.doOnSuccess(value -> metrics.recordServiceCall(method, System.nanoTime() - start, null))
+						.doOnError(e -> metrics.recordServiceCall(method, System.nanoTime() - start, e));
+			});
+		}
+		if (Flux.class.isAssignableFrom(method.getReturnType())) {
+			final var flux = (Flux<?>) joinPoint.proceed();
+			return Flux.defer(() -> {
+				final var start = System.nanoTime();
+				return flux.doOnComplete(() -> metrics.recordServiceCall(method, System.nanoTime() - start, null))
+						.doOnError(e -> metrics.recordServiceCall(method, System.nanoTime() - start, e));
+			});
+		}
+		return joinPoint.proceed();
+	}
+}
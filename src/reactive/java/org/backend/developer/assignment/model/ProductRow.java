@@ -0,0 +1,20 @@
+package org.backend.developer.assignment.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * A row of the {@code product} table as read over R2DBC by the reactive profile.
+ * Kept apart from the {@link Product} entity, which belongs to JPA.
+ */
+@Table("product")
+public record ProductRow(
+		@Id @Column("id") long id,
+		@Column("name") String name,
+		@Column("description") String description,
+		@Column("price") BigDecimal price,
+		@Column("version") long version) {
+}
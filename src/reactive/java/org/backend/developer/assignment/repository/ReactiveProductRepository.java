@@ -0,0 +1,55 @@
+package org.backend.developer.assignment.repository;
+
+import org.backend.developer.assignment.model.ProductRow;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking access to the product table over R2DBC, used by the reactive profile.
+ * Runs the {@link ProductStatements} of {@link ProductRepository}; ids of new products are assigned by the caller.
+ */
+public interface ReactiveProductRepository extends R2dbcRepository<ProductRow, Long> {
+
+	/**
+	 * Keyset page: products with an id strictly greater than {@code id}, in id order.
+	 */
+	Flux<ProductRow> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+	/**
+	 * The whole table in id order, emitted as rows arrive.
+	 */
+	Flux<ProductRow> findAllByOrderByIdAsc();
+
+	@Query("""
+			INSERT INTO product (id, name, description, price)
+			VALUES (:id, :name, :description, :price)
+			RETURNING *""")
+	Mono<ProductRow> insert(long id, String name, String description, BigDecimal price);
+
+	/**
+	 * @return the updated product, or empty if no product has the given id
+	 */
+	@Query(ProductStatements.UPDATE_BY_ID)
+	Mono<ProductRow> updateById(long id, String name, String description, BigDecimal price);
+
+	/**
+	 * Like {@link #updateById}, but only if the product is still at the given version.
+	 *
+	 * @return the updated product, or empty if no product has the given id and version
+	 */
+	@Query(ProductStatements.UPDATE_BY_ID_AND_VERSION)
+	Mono<ProductRow> updateByIdAndVersion(long id, long version, String name, String description, BigDecimal price);
+
+	/**
+	 * @return the number of deleted rows, {@code 0} if no product has the given id
+	 */
+	@Modifying
+	@Query("DELETE FROM product WHERE id = :id")
+	Mono<Integer> deleteProductById(long id);
+}
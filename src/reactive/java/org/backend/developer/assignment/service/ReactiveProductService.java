@@ -0,0 +1,75 @@
+package org.backend.developer.assignment.service;
+
+import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.exception.ProductNotFoundException;
+import org.backend.developer.assignment.exception.ProductVersionMismatchException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ProductService} for the reactive profile.
+ * Same operations and outcomes; failures are signalled through the returned publisher instead of thrown.
+ */
+public interface ReactiveProductService {
+
+	/**
+	 * Retrieves one page of products ordered by id (keyset pagination).
+	 *
+	 * @param after the id of the last product of the previous page, {@code 0} for the first page
+	 * @param limit the maximum number of products to return
+	 * @return the products with ids greater than {@code after}
+	 */
+	Flux<ProductResponse> getProducts(long after, int limit);
+
+	/**
+	 * Streams all products ordered by id, emitting each one as it is read from the database.
+	 *
+	 * @return every product, at the pace of the subscriber
+	 */
+	Flux<ProductResponse> streamProducts();
+
+	/**
+	 * Retrieves a product by its unique identifier.
+	 *
+	 * @param id the unique identifier of the product to retrieve
+	 * @return the product details, or a {@link ProductNotFoundException} error if it does not exist
+	 */
+	Mono<ProductResponse> getProductById(Long id);
+
+	/**
+	 * Creates a new product based on the provided product details.
+	 *
+	 * @param request the details of the product to be created
+	 * @return the created product
+	 */
+	Mono<ProductResponse> createProduct(ProductRequest request);
+
+	/**
+	 * Updates an existing product with new details.
+	 *
+	 * @param id The ID of the product to update.
+	 * @param request The updated product details.
+	 * @return The updated product details, or a {@link ProductNotFoundException} error.
+	 */
+	Mono<ProductResponse> updateProduct(Long id, ProductRequest request);
+
+	/**
+	 * Updates an existing product only if it is still at the expected version (optimistic locking).
+	 *
+	 * @param id The ID of the product to update.
+	 * @param request The updated product details.
+	 * @param expectedVersion The version of the product the caller last saw.
+	 * @return The updated product details, or a {@link ProductNotFoundException}
+	 * or {@link ProductVersionMismatchException} error.
+	 */
+	Mono<ProductResponse> updateProduct(Long id, ProductRequest request, long expectedVersion);
+
+	/**
+	 * Deletes a product identified by its unique ID.
+	 *
+	 * @param id the unique identifier of the product to be deleted
+	 * @return completes when deleted, or a {@link ProductNotFoundException} error if it does not exist
+	 */
+	Mono<Void> deleteProduct(Long id);
+}
@@ -0,0 +1,104 @@
+package org.backend.developer.assignment.service.impl;
+
+import static org.backend.developer.assignment.config.CacheConfig.PRODUCTS_CACHE;
+import static org.backend.developer.assignment.service.impl.ProductFailures.NOT_FOUND;
+import static org.backend.developer.assignment.service.impl.ProductFailures.versionedUpdateFailure;
+
+import lombok.RequiredArgsConstructor;
+import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.id.SnowflakeIds;
+import org.backend.developer.assignment.mapper.ProductRowMapper;
+import org.backend.developer.assignment.repository.ReactiveProductRepository;
+import org.backend.developer.assignment.service.ReactiveProductService;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Every operation is a single statement, so none needs a transaction. Shares its failures, statements and
+ * product cache with {@link ProductServiceImpl}: reads by id are answered from the cache, writes update or evict it.
+ * Cache misses are not coalesced by the {@link ProductBatchLoader}, whose blocking reads would stall the event loop.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+
+	private final ProductRowMapper mapper;
+	private final ReactiveProductRepository productRepository;
+	private final SnowflakeIds productIds;
+	private final CacheManager cacheManager;
+
+	public Flux<ProductResponse> getProducts(long after, int limit) {
+		return productRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit))
+				.map(mapper::from);
+	}
+
+	public Flux<ProductResponse> streamProducts() {
+		return productRepository.findAllByOrderByIdAsc()
+				.map(mapper::from);
+	}
+
+	public Mono<ProductResponse> getProductById(Long id) {
+		return Mono.fromSupplier(() -> cached(id))
+				.switchIfEmpty(Mono.defer(() -> productRepository.findById(id)
+						.map(mapper::from)
+						.doOnNext(this::cache)))
+				.switchIfEmpty(Mono.error(NOT_FOUND));
+	}
+
+	public Mono<ProductResponse> createProduct(ProductRequest request) {
+		return productRepository.insert(productIds.nextId(), request.name(), request.description(), request.price())
+				.map(mapper::from);
+	}
+
+	public Mono<ProductResponse> updateProduct(Long id, ProductRequest request) {
+		return productRepository.updateById(id, request.name(), request.description(), request.price())
+				.map(mapper::from)
+				.doOnNext(this::cache)
+				.switchIfEmpty(Mono.error(NOT_FOUND));
+	}
+
+	public Mono<ProductResponse> updateProduct(Long id, ProductRequest request, long expectedVersion) {
+		return productRepository.updateByIdAndVersion(id, expectedVersion, request.name(),
+						request.description(), request.price())
+				.map(mapper::from)
+				.doOnNext(this::cache)
+				.switchIfEmpty(Mono.defer(() -> productRepository.existsById(id)
+						.flatMap(exists -> Mono.error(versionedUpdateFailure(exists)))));
+	}
+
+	public Mono<Void> deleteProduct(Long id) {
+		return productRepository.deleteProductById(id)
+				.flatMap(deleted -> {
+					if (deleted == 0) {
+						return Mono.error(NOT_FOUND);
+					}
+					evict(id);
+					return Mono.empty();
+				});
+	}
+
+	private ProductResponse cached(Long id) {
+		final var cache = cacheManager.getCache(PRODUCTS_CACHE);
+		return cache == null ? null : cache.get(id, ProductResponse.class);
+	}
+
+	private void cache(ProductResponse product) {
+		final var cache = cacheManager.getCache(PRODUCTS_CACHE);
+		if (cache != null) {
+			cache.put(product.id(), product);
+		}
+	}
+
+	private void evict(Long id) {
+		final var cache = cacheManager.getCache(PRODUCTS_CACHE);
+		if (cache != null) {
+			cache.evict(id);
+		}
+	}
+}
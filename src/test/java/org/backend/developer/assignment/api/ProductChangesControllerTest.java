@@ -0,0 +1,104 @@
+package org.backend.developer.assignment.api;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.backend.developer.assignment.api.dto.request.ChangeCursor;
+import org.backend.developer.assignment.api.dto.response.ProductChangeResponse;
+import org.backend.developer.assignment.api.dto.response.ProductChangesResponse;
+import org.backend.developer.assignment.event.ProductChangeSignal;
+import org.backend.developer.assignment.event.ProductChangedEvent;
+import org.backend.developer.assignment.exception.ChangeCursorExpiredException;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.backend.developer.assignment.model.ProductChangeOperation;
+import org.backend.developer.assignment.service.ProductChangeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+@WebMvcTest(ProductChangesController.class)
+@Import(ProductChangeSignal.class)
+class ProductChangesControllerTest {
+
+	private static final ChangeCursor SINCE = new ChangeCursor(11, 3);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ProductChangeSignal changeSignal;
+
+	@MockitoBean
+	private ProductChangeService productChangeService;
+
+	@MockitoBean
+	private ProductMetrics productMetrics;
+
+	@Test
+	void getChanges_NoCursor_ShouldReturnHeadCursor() throws Exception {
+		given(productChangeService.getHead()).willReturn(new ChangeCursor(41, 7));
+
+		var result = mockMvc.perform(get("/products/changes"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.changes.size()", is(0)))
+				.andExpect(jsonPath("$.cursor", is("41.7")));
+	}
+
+	@Test
+	void getChanges_LongPoll_ShouldWaitForNextChange() throws Exception {
+		var change = new ProductChangeResponse("12.4", 7L, ProductChangeOperation.DELETE, Instant.EPOCH, null);
+		given(productChangeService.getChanges(SINCE, 100))
+				.willReturn(new ProductChangesResponse(List.of(), "11.3"))
+				.willReturn(new ProductChangesResponse(List.of(change), "12.4"));
+
+		var result = mockMvc.perform(get("/products/changes")
+						.param("since", "11.3")
+						.param("wait", "30"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		changeSignal.onProductChanged(new ProductChangedEvent(7L));
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.changes[0].productId", is(7)))
+				.andExpect(jsonPath("$.changes[0].operation", is("DELETE")))
+				.andExpect(jsonPath("$.cursor", is("12.4")));
+		verify(productChangeService, times(2)).getChanges(SINCE, 100);
+	}
+
+	@Test
+	void getChanges_ExpiredCursor_ShouldReturnGone() throws Exception {
+		given(productChangeService.getChanges(any(ChangeCursor.class), anyInt()))
+				.willThrow(new ChangeCursorExpiredException("Changes after this cursor have been pruned"));
+
+		mockMvc.perform(get("/products/changes")
+						.param("since", "1.1"))
+				.andExpect(status().isGone());
+	}
+
+	@Test
+	void getChanges_InvalidCursor_ShouldReturnBadRequest() throws Exception {
+		mockMvc.perform(get("/products/changes")
+						.param("since", "latest"))
+				.andExpect(status().isBadRequest());
+	}
+}
\ No newline at end of file
@@ -1,33 +1,70 @@
 package org.backend.developer.assignment.api;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.backend.developer.assignment.api.dto.request.ProductPageRequest;
 import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.request.ProductSort;
+import org.backend.developer.assignment.api.dto.response.BatchItemError;
+import org.backend.developer.assignment.api.dto.response.BatchResponse;
 import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.api.dto.response.ProductUpdateStatus;
+import org.backend.developer.assignment.api.dto.response.ProductUpdateTicket;
+import org.backend.developer.assignment.api.dto.response.ProductsByIdResponse;
+import org.backend.developer.assignment.config.MessageConvertersConfig;
+import org.backend.developer.assignment.event.ProductChangedEvent;
+import org.backend.developer.assignment.event.ProductListingVersion;
 import org.backend.developer.assignment.exception.ProductNotFoundException;
+import org.backend.developer.assignment.exception.ProductVersionMismatchException;
+import org.backend.developer.assignment.exception.RateLimitExceededException;
+import org.backend.developer.assignment.exception.ServiceOverloadedException;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.backend.developer.assignment.repository.ProductChangeRepository;
 import org.backend.developer.assignment.service.ProductService;
+import org.backend.developer.assignment.writebehind.ProductWriteBehindQueue;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @WebMvcTest(ProductController.class)
+@Import({ProductListingVersion.class, MessageConvertersConfig.class})
 class ProductControllerIntegrationTest {
 
 	@Autowired
@@ -36,38 +73,209 @@ class ProductControllerIntegrationTest {
 	@Autowired
 	private ObjectMapper objectMapper;
 
+	@Autowired
+	private ProductListingVersion listingVersion;
+
 	@MockitoBean
 	private ProductService productService;
 
+	@MockitoBean
+	private ProductMetrics productMetrics;
+
+	@MockitoBean
+	private ProductWriteBehindQueue writeBehindQueue;
+
+	@MockitoBean
+	private ProductChangeRepository productChangeRepository;
+
+	@MockitoBean
+	private TaskScheduler taskScheduler;
+
+	@BeforeEach
+	void setUp() {
+		willAnswer(invocation -> {
+			invocation.getArgument(0, Runnable.class).run();
+			return null;
+		}).given(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+	}
+
 	@Test
-	void getAllProducts_ShouldReturnProductList() throws Exception {
+	void getProducts_ShouldReturnProductList() throws Exception {
 		var firstProductName = "Product 1";
 		var firstProductDescription = "Some product";
-		var firstProductPrice = 100.0;
+		var firstProductPrice = new BigDecimal("100.00");
 
 		var secondProductName = "Product 2";
 		var secondProductDescription = "Very good product";
-		var secondProductPrice = 150.0;
+		var secondProductPrice = new BigDecimal("150.00");
 
 		List<ProductResponse> products = Arrays.asList(
-				new ProductResponse(1L, firstProductName, firstProductDescription, firstProductPrice),
-				new ProductResponse(2L, secondProductName, secondProductDescription, secondProductPrice)
+				new ProductResponse(1L, firstProductName, firstProductDescription, firstProductPrice, 0),
+				new ProductResponse(2L, secondProductName, secondProductDescription, secondProductPrice, 0)
 		);
 
-		given(productService.getAllProducts()).willReturn(products);
+		given(productService.getProducts(ProductPageRequest.after(0L), 100)).willReturn(products);
 
 		mockMvc.perform(get("/products")
 						.contentType(MediaType.APPLICATION_JSON))
 				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("Link"))
 				.andExpect(jsonPath("$.size()", is(2)))
 				.andExpect(jsonPath("$[0].id", is(1)))
 				.andExpect(jsonPath("$[0].name", is(firstProductName)))
 				.andExpect(jsonPath("$[0].description", is(firstProductDescription)))
-				.andExpect(jsonPath("$[0].price", is(firstProductPrice)))
+				.andExpect(jsonPath("$[0].price", is(firstProductPrice.doubleValue())))
 				.andExpect(jsonPath("$[1].id", is(2)))
 				.andExpect(jsonPath("$[1].name", is(secondProductName)))
 				.andExpect(jsonPath("$[1].description", is(secondProductDescription)))
-				.andExpect(jsonPath("$[1].price", is(secondProductPrice)));
+				.andExpect(jsonPath("$[1].price", is(secondProductPrice.doubleValue())));
+	}
+
+	@Test
+	void getProducts_FullPage_ShouldReturnNextLink() throws Exception {
+		List<ProductResponse> products = List.of(
+				new ProductResponse(11L, "Product 11", "Some product", new BigDecimal("100.00"), 0),
+				new ProductResponse(12L, "Product 12", "Some product", new BigDecimal("150.00"), 0)
+		);
+
+		given(productService.getProducts(ProductPageRequest.after(10L), 2)).willReturn(products);
+
+		mockMvc.perform(get("/products")
+						.param("after", "10")
+						.param("limit", "2")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.size()", is(2)))
+				.andExpect(header().string("Link", "<http://localhost/products?after=12&limit=2>; rel=\"next\""));
+	}
+
+	@Test
+	void getProducts_FilteredByPrice_ShouldReturnNextLinkWithPriceKeyset() throws Exception {
+		List<ProductResponse> products = List.of(
+				new ProductResponse(4L, "Chair", "Some product", new BigDecimal("150.00"), 0),
+				new ProductResponse(9L, "Chest", "Some product", new BigDecimal("120.00"), 0)
+		);
+		ProductPageRequest page = new ProductPageRequest(new BigDecimal("100"), new BigDecimal("200"), "ch", ProductSort.PRICE_DESC, 0, null);
+
+		given(productService.getProducts(page, 2)).willReturn(products);
+
+		mockMvc.perform(get("/products?minPrice=100&maxPrice=200&nameStartsWith=ch&sort=-price&limit=2")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.size()", is(2)))
+				.andExpect(header().string("Link", "<http://localhost/products"
+						+ "?minPrice=100&maxPrice=200&nameStartsWith=ch&sort=-price&after=9&afterPrice=120.00&limit=2>; rel=\"next\""));
+	}
+
+	@Test
+	void getProducts_AcceptCbor_ShouldReturnCborEncodedList() throws Exception {
+		List<ProductResponse> products = List.of(
+				new ProductResponse(1L, "Product 1", "Some product", new BigDecimal("100.00"), 0)
+		);
+
+		given(productService.getProducts(ProductPageRequest.after(0L), 100)).willReturn(products);
+
+		var body = mockMvc.perform(get("/products")
+						.accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		var decoded = new CBORMapper().readValue(body, ProductResponse[].class);
+		assertEquals(products, List.of(decoded));
+	}
+
+	@Test
+	void getProducts_UnknownSort_ShouldReturnBadRequest() throws Exception {
+		mockMvc.perform(get("/products")
+						.param("sort", "name")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void getProducts_LimitTooLarge_ShouldReturnBadRequest() throws Exception {
+		mockMvc.perform(get("/products")
+						.param("limit", "100000")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void searchProducts_FullPage_ShouldReturnMatchesAndNextLink() throws Exception {
+		List<ProductResponse> products = List.of(
+				new ProductResponse(7L, "Red chair", "Some product", new BigDecimal("100.00"), 0),
+				new ProductResponse(3L, "Table", "Goes with the red chair", new BigDecimal("150.00"), 0)
+		);
+
+		given(productService.searchProducts("red chair", 4L, 2)).willReturn(products);
+
+		mockMvc.perform(get("/products/search?q={q}&offset=4&limit=2", "red chair")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id", is(7)))
+				.andExpect(jsonPath("$[1].id", is(3)))
+				.andExpect(header().string("Link", "<http://localhost/products/search?q=red%20chair&offset=6&limit=2>; rel=\"next\""));
+	}
+
+	@Test
+	void getProductsById_ShouldReturnProductsInRequestOrderAndMissingIds() throws Exception {
+		ProductsByIdResponse response = new ProductsByIdResponse(List.of(
+				new ProductResponse(9L, "Chair", "Some product", new BigDecimal("100.00"), 0),
+				new ProductResponse(2L, "Table", "Some product", new BigDecimal("150.00"), 0)
+		), List.of(5L));
+
+		given(productService.getProductsById(List.of(9L, 5L, 2L))).willReturn(response);
+
+		mockMvc.perform(get("/products")
+						.param("ids", "9,5,2")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.products[0].id", is(9)))
+				.andExpect(jsonPath("$.products[1].id", is(2)))
+				.andExpect(jsonPath("$.missingIds[0]", is(5)));
+	}
+
+	@Test
+	void getProductsById_TooManyIds_ShouldReturnBadRequest() throws Exception {
+		String ids = String.join(",", Collections.nCopies(1001, "1"));
+
+		mockMvc.perform(get("/products")
+						.param("ids", ids)
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void searchProducts_BlankQuery_ShouldReturnBadRequest() throws Exception {
+		mockMvc.perform(get("/products/search")
+						.param("q", " ")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void streamProducts_ShouldWriteNewlineDelimitedJson() throws Exception {
+		willAnswer(invocation -> {
+			Consumer<ProductResponse> consumer = invocation.getArgument(0);
+			consumer.accept(new ProductResponse(1L, "Product 1", "Some product", new BigDecimal("100.00"), 0));
+			consumer.accept(new ProductResponse(2L, "Product 2", null, new BigDecimal("150.00"), 0));
+			return null;
+		}).given(productService).streamProducts(any(Consumer.class));
+
+		var result = mockMvc.perform(get("/products")
+						.accept(MediaType.APPLICATION_NDJSON_VALUE))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+				.andExpect(content().string("""
+						{"id":1,"name":"Product 1","description":"Some product","price":100.00,"version":0}
+						{"id":2,"name":"Product 2","description":null,"price":150.00,"version":0}
+						"""));
 	}
 
 	@Test
@@ -75,8 +283,8 @@ class ProductControllerIntegrationTest {
 		var id = 1L;
 		var name = "Product";
 		var description = "Some product";
-		var price = 100.0;
-		ProductResponse product = new ProductResponse(id, name, description, price);
+		var price = new BigDecimal("100.00");
+		ProductResponse product = new ProductResponse(id, name, description, price, 0);
 
 		given(productService.getProductById(id)).willReturn(product);
 
@@ -86,7 +294,54 @@ class ProductControllerIntegrationTest {
 				.andExpect(jsonPath("$.id", is(1)))
 				.andExpect(jsonPath("$.name", is(name)))
 				.andExpect(jsonPath("$.description", is(description)))
-				.andExpect(jsonPath("$.price", is(price)));
+				.andExpect(jsonPath("$.price", is(price.doubleValue())));
+	}
+
+	@Test
+	void getProductById_MatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+		var id = 1L;
+		given(productService.getProductById(id)).willReturn(new ProductResponse(id, "Product", "Some product", new BigDecimal("100.00"), 3));
+
+		mockMvc.perform(get("/products/" + id)
+						.header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void getProducts_ListingUnchanged_ShouldReturnNotModifiedWithoutQuerying() throws Exception {
+		given(productChangeRepository.findListingMarker()).willReturn("7.0.0", "8.0.0");
+		listingVersion.advance();
+
+		var etag = mockMvc.perform(get("/products"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "W/\"7.0.0\""))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/products")
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		verify(productService, times(1)).getProducts(any(ProductPageRequest.class), anyInt());
+
+		listingVersion.onProductChanged(new ProductChangedEvent(1L));
+
+		mockMvc.perform(get("/products")
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "W/\"8.0.0\""));
+		verify(productChangeRepository, times(2)).findListingMarker();
+	}
+
+	@Test
+	void getProducts_ListingMarkerNotRead_ShouldReturnUntaggedListing() throws Exception {
+		given(productChangeRepository.findListingMarker()).willThrow(new IllegalStateException("down"));
+		listingVersion.advance();
+
+		mockMvc.perform(get("/products")
+						.header(HttpHeaders.IF_NONE_MATCH, "W/\"7.0.0\""))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG));
 	}
 
 	@Test
@@ -99,6 +354,30 @@ class ProductControllerIntegrationTest {
 				.andExpect(status().isNotFound());
 	}
 
+	@Test
+	void getProductById_ServiceOverloaded_ShouldReturnServiceUnavailable() throws Exception {
+		var id = 1L;
+		given(productService.getProductById(id))
+				.willThrow(new ServiceOverloadedException("Timed out", Duration.ofSeconds(2)));
+
+		mockMvc.perform(get("/products/" + id)
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string("Retry-After", "2"));
+	}
+
+	@Test
+	void getProductById_RateLimitExceeded_ShouldReturnTooManyRequests() throws Exception {
+		var id = 1L;
+		given(productService.getProductById(id))
+				.willThrow(new RateLimitExceededException("Request rate limit exceeded", Duration.ofMillis(1500)));
+
+		mockMvc.perform(get("/products/" + id)
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "2"));
+	}
+
 	@Test
 	void getProductById_InvalidRequest_ShouldReturnBadRequest() throws Exception {
 		Long id = null;
@@ -113,9 +392,9 @@ class ProductControllerIntegrationTest {
 		var id = 1L;
 		var name = "Product";
 		var description = "Some product";
-		var price = 100.0;
+		var price = new BigDecimal("100.00");
 		ProductRequest request = new ProductRequest(name, description, price);
-		ProductResponse response = new ProductResponse(id, name, description, price);
+		ProductResponse response = new ProductResponse(id, name, description, price, 0);
 
 		given(productService.createProduct(any(ProductRequest.class))).willReturn(response);
 
@@ -126,7 +405,7 @@ class ProductControllerIntegrationTest {
 				.andExpect(jsonPath("$.id", is(1)))
 				.andExpect(jsonPath("$.name", is(name)))
 				.andExpect(jsonPath("$.description", is(description)))
-				.andExpect(jsonPath("$.price", is(price)));
+				.andExpect(jsonPath("$.price", is(price.doubleValue())));
 	}
 
 	@Test
@@ -144,10 +423,10 @@ class ProductControllerIntegrationTest {
 		var id = 1L;
 		var name = "Updated Product";
 		var description = "Product description updated";
-		var price = 120.0;
+		var price = new BigDecimal("120.00");
 
 		ProductRequest request = new ProductRequest(name, description, price);
-		ProductResponse response = new ProductResponse(id, name, description, price);
+		ProductResponse response = new ProductResponse(id, name, description, price, 0);
 
 		given(productService.updateProduct(eq(id), any(ProductRequest.class))).willReturn(response);
 
@@ -158,7 +437,7 @@ class ProductControllerIntegrationTest {
 				.andExpect(jsonPath("$.id", is(1)))
 				.andExpect(jsonPath("$.name", is(name)))
 				.andExpect(jsonPath("$.description", is(description)))
-				.andExpect(jsonPath("$.price", is(price)));
+				.andExpect(jsonPath("$.price", is(price.doubleValue())));
 	}
 
 
@@ -173,11 +452,92 @@ class ProductControllerIntegrationTest {
 				.andExpect(status().isBadRequest());
 	}
 
+	@Test
+	void updateProduct_IfMatch_ShouldUpdateTaggedVersion() throws Exception {
+		var id = 1L;
+		ProductRequest request = new ProductRequest("Updated Product", "", new BigDecimal("120.00"));
+		ProductResponse response = new ProductResponse(id, "Updated Product", "", new BigDecimal("120.00"), 4);
+
+		given(productService.updateProduct(eq(id), any(ProductRequest.class), eq(3L))).willReturn(response);
+
+		mockMvc.perform(put("/products/" + id)
+						.header(HttpHeaders.IF_MATCH, "\"3\"")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(request)))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+	}
+
+	@Test
+	void updateProduct_PreferRespondAsync_ShouldAcceptUpdate() throws Exception {
+		var id = 1L;
+		ProductRequest request = new ProductRequest("Updated Product", "", new BigDecimal("120.00"));
+		var ticket = new ProductUpdateTicket("d3b07384", id, ProductUpdateStatus.PENDING);
+
+		given(writeBehindQueue.accept(id, request)).willReturn(ticket);
+
+		mockMvc.perform(put("/products/" + id)
+						.header("Prefer", "respond-async, wait=10")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(request)))
+				.andExpect(status().isAccepted())
+				.andExpect(header().string("Preference-Applied", "respond-async"))
+				.andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/products/updates/d3b07384"))
+				.andExpect(jsonPath("$.token", is("d3b07384")))
+				.andExpect(jsonPath("$.status", is("PENDING")));
+		verify(productService, times(0)).updateProduct(eq(id), any(ProductRequest.class));
+	}
+
+	@Test
+	void updateProduct_PreferRespondAsyncWithIfMatch_ShouldUpdateRightAway() throws Exception {
+		var id = 1L;
+		ProductRequest request = new ProductRequest("Updated Product", "", new BigDecimal("120.00"));
+		ProductResponse response = new ProductResponse(id, "Updated Product", "", new BigDecimal("120.00"), 4);
+
+		given(productService.updateProduct(eq(id), any(ProductRequest.class), eq(3L))).willReturn(response);
+
+		mockMvc.perform(put("/products/" + id)
+						.header("Prefer", "respond-async")
+						.header(HttpHeaders.IF_MATCH, "\"3\"")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(request)))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("Preference-Applied"));
+	}
+
+	@Test
+	void getProductUpdate_ShouldReturnTicket() throws Exception {
+		given(writeBehindQueue.ticket("d3b07384"))
+				.willReturn(Optional.of(new ProductUpdateTicket("d3b07384", 1L, ProductUpdateStatus.APPLIED)));
+
+		mockMvc.perform(get("/products/updates/d3b07384"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.productId", is(1)))
+				.andExpect(jsonPath("$.status", is("APPLIED")));
+		mockMvc.perform(get("/products/updates/unknown"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void updateProduct_StaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+		var id = 1L;
+		ProductRequest request = new ProductRequest("Updated Product", "", new BigDecimal("120.00"));
+
+		given(productService.updateProduct(eq(id), any(ProductRequest.class), eq(2L)))
+				.willThrow(new ProductVersionMismatchException("Product has been changed"));
+
+		mockMvc.perform(put("/products/" + id)
+						.header(HttpHeaders.IF_MATCH, "\"2\"")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(request)))
+				.andExpect(status().isPreconditionFailed());
+	}
+
 	@Test
 	void updateProduct_InvalidId_ShouldReturnNotFound() throws Exception {
 		var id = 1L;
 
-		ProductRequest request = new ProductRequest("Updated Product", "", 120.0);
+		ProductRequest request = new ProductRequest("Updated Product", "", new BigDecimal("120.00"));
 
 		given(productService.updateProduct(eq(id), any(ProductRequest.class))).willThrow(ProductNotFoundException.class);
 
@@ -215,4 +575,45 @@ class ProductControllerIntegrationTest {
 						.contentType(MediaType.APPLICATION_JSON))
 				.andExpect(status().isBadRequest());
 	}
+
+	@Test
+	void createProducts_ValidBatch_ShouldReturnCreatedProductsAndErrors() throws Exception {
+		List<ProductRequest> requests = List.of(
+				new ProductRequest("Product", "Some product", new BigDecimal("100.00")),
+				new ProductRequest(null, null, null));
+		BatchResponse<ProductResponse> response = new BatchResponse<>(
+				List.of(new ProductResponse(1L, "Product", "Some product", new BigDecimal("100.00"), 0)),
+				List.of(new BatchItemError(1, "name: Product name must not be empty")));
+
+		given(productService.createProducts(any())).willReturn(response);
+
+		mockMvc.perform(post("/products/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(requests)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.succeeded.size()", is(1)))
+				.andExpect(jsonPath("$.succeeded[0].id", is(1)))
+				.andExpect(jsonPath("$.errors[0].index", is(1)));
+	}
+
+	@Test
+	void createProducts_EmptyBatch_ShouldReturnBadRequest() throws Exception {
+		mockMvc.perform(post("/products/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[]"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void deleteProducts_ValidBatch_ShouldReturnDeletedIds() throws Exception {
+		given(productService.deleteProducts(List.of(1L, 2L)))
+				.willReturn(new BatchResponse<>(List.of(1L), List.of(new BatchItemError(1, "Product not found"))));
+
+		mockMvc.perform(delete("/products/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[1, 2]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.succeeded[0]", is(1)))
+				.andExpect(jsonPath("$.errors[0].message", is("Product not found")));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package org.backend.developer.assignment.api;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.backend.developer.assignment.export.ProductExportProperties;
+import org.backend.developer.assignment.export.ProductSnapshot;
+import org.backend.developer.assignment.export.ProductSnapshotExporter;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+@WebMvcTest(ProductExportController.class)
+class ProductExportControllerTest {
+
+	private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+	private static final String ETAG = "\"abc-a\"";
+
+	@TempDir
+	private Path directory;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private ProductSnapshotExporter exporter;
+
+	@MockitoBean
+	private ProductExportProperties properties;
+
+	@MockitoBean
+	private ProductMetrics productMetrics;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		final var file = Files.write(directory.resolve("products.ndjson.gz"), CONTENT);
+		given(exporter.current()).willReturn(Optional.of(new ProductSnapshot(file, ETAG,
+				Instant.parse("2024-01-01T00:00:00Z"), CONTENT.length)));
+	}
+
+	@Test
+	void exportProducts_ShouldReturnSnapshotFile() throws Exception {
+		mockMvc.perform(get("/products/export"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+				.andExpect(header().string(HttpHeaders.ETAG, ETAG))
+				.andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length))
+				.andExpect(content().bytes(CONTENT));
+	}
+
+	@Test
+	void exportProducts_Range_ShouldReturnPartialContent() throws Exception {
+		mockMvc.perform(get("/products/export")
+						.header(HttpHeaders.RANGE, "bytes=2-4")
+						.header(HttpHeaders.IF_RANGE, ETAG))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/10"))
+				.andExpect(content().bytes("234".getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	@Test
+	void exportProducts_RangeOfOtherSnapshot_ShouldReturnWholeFile() throws Exception {
+		mockMvc.perform(get("/products/export")
+						.header(HttpHeaders.RANGE, "bytes=2-4")
+						.header(HttpHeaders.IF_RANGE, "\"other\""))
+				.andExpect(status().isOk())
+				.andExpect(content().bytes(CONTENT));
+	}
+
+	@Test
+	void exportProducts_RangeOfSnapshotDate_ShouldReturnPartialContent() throws Exception {
+		mockMvc.perform(get("/products/export")
+						.header(HttpHeaders.RANGE, "bytes=2-4")
+						.header(HttpHeaders.IF_RANGE, "Mon, 01 Jan 2024 00:00:00 GMT"))
+				.andExpect(status().isPartialContent())
+				.andExpect(content().bytes("234".getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	@Test
+	void exportProducts_RangeOfOtherDateOrWeakTag_ShouldReturnWholeFile() throws Exception {
+		mockMvc.perform(get("/products/export")
+						.header(HttpHeaders.RANGE, "bytes=2-4")
+						.header(HttpHeaders.IF_RANGE, "Sun, 31 Dec 2023 23:59:59 GMT"))
+				.andExpect(status().isOk())
+				.andExpect(content().bytes(CONTENT));
+		mockMvc.perform(get("/products/export")
+						.header(HttpHeaders.RANGE, "bytes=2-4")
+						.header(HttpHeaders.IF_RANGE, "W/" + ETAG))
+				.andExpect(status().isOk())
+				.andExpect(content().bytes(CONTENT));
+	}
+
+	@Test
+	void exportProducts_RangeBeyondEnd_ShouldReturnRangeNotSatisfiable() throws Exception {
+		mockMvc.perform(get("/products/export")
+						.header(HttpHeaders.RANGE, "bytes=10-"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+	}
+
+	@Test
+	void exportProducts_Unchanged_ShouldReturnNotModified() throws Exception {
+		mockMvc.perform(get("/products/export")
+						.header(HttpHeaders.IF_NONE_MATCH, ETAG))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void exportProducts_NoSnapshotYet_ShouldReturnServiceUnavailable() throws Exception {
+		given(exporter.current()).willReturn(Optional.empty());
+		given(properties.retryAfter()).willReturn(Duration.ofSeconds(10));
+
+		mockMvc.perform(get("/products/export"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package org.backend.developer.assignment.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.backend.developer.assignment.concurrency.AdaptiveConcurrencyLimitProperties;
+import org.backend.developer.assignment.concurrency.AdaptiveConcurrencyLimiter;
+import org.backend.developer.assignment.exception.GlobalControllerExceptionHandler;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.backend.developer.assignment.ratelimit.RateLimitProperties;
+import org.backend.developer.assignment.ratelimit.RateLimitProperties.Budget;
+import org.backend.developer.assignment.ratelimit.RequestRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.Map;
+
+class ProductRequestLimitInterceptorTest {
+
+	private SimpleMeterRegistry registry;
+	private AdaptiveConcurrencyLimiter concurrencyLimiter;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		final var metrics = new ProductMetrics(registry);
+		final var rateLimiter = new RequestRateLimiter(new RateLimitProperties(true, null, new Budget(31, 0.001), 100,
+				Map.of("getProducts", 10), Map.of()), metrics);
+		concurrencyLimiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyLimitProperties(
+				true, 1, 1, 1, Duration.ofMillis(100), 0.5, Duration.ofSeconds(1)), metrics, registry);
+		mockMvc = MockMvcBuilders.standaloneSetup(new LimitedController())
+				.addInterceptors(new ProductRequestLimitInterceptor(rateLimiter, concurrencyLimiter, null))
+				.setControllerAdvice(new GlobalControllerExceptionHandler(metrics))
+				.build();
+	}
+
+	@Test
+	void preHandle_ChargesClientBucketByEndpointCost() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get("/products")).andExpect(status().isOk());
+		}
+
+		mockMvc.perform(get("/products"))
+				.andExpect(status().isTooManyRequests());
+		mockMvc.perform(get("/products/1"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/products/1"))
+				.andExpect(status().isTooManyRequests());
+	}
+
+	@Test
+	void preHandle_BudgetUsedUp_Returns429WithRetryAfter() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get("/products"));
+		}
+
+		mockMvc.perform(get("/products"))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+				.andExpect(result -> assertTrue(Long.parseLong(result.getResponse().getHeader(HttpHeaders.RETRY_AFTER)) > 8990,
+						"9 tokens short at 1 token per 1000 seconds"));
+		assertEquals(1, registry.get("product.requests.rejected")
+				.tag("endpoint", "getProducts").tag("reason", "rate_limit_client").counter().count());
+	}
+
+	@Test
+	void afterCompletion_ReleasesConcurrencySlot() throws Exception {
+		final var interceptor = new ProductRequestLimitInterceptor(null, concurrencyLimiter, null);
+		final var handler = new HandlerMethod(new LimitedController(), "getProduct", long.class);
+		final var request = new MockHttpServletRequest("GET", "/products/1");
+		final var response = new MockHttpServletResponse();
+
+		interceptor.preHandle(request, response, handler);
+		assertEquals(1, concurrencyLimiter.inFlight());
+
+		interceptor.afterCompletion(request, response, handler, null);
+		interceptor.afterCompletion(request, response, handler, null);
+		assertEquals(0, concurrencyLimiter.inFlight(), "the slot is released once");
+
+		mockMvc.perform(get("/products/1")).andExpect(status().isOk());
+		mockMvc.perform(get("/products/1")).andExpect(status().isOk());
+		assertEquals(0, concurrencyLimiter.inFlight());
+	}
+
+	@RestController
+	static class LimitedController {
+
+		@GetMapping("/products")
+		public String getProducts() {
+			return "[]";
+		}
+
+		@GetMapping("/products/{id}")
+		public String getProduct(@PathVariable long id) {
+			return "{}";
+		}
+	}
+}
\ No newline at end of file
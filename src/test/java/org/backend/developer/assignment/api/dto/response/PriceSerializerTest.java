@@ -0,0 +1,61 @@
+package org.backend.developer.assignment.api.dto.response;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+class PriceSerializerTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+
+	@Test
+	void serialize_WritesTwoDecimals() throws Exception {
+		assertEquals("12.50", price("12.5"));
+		assertEquals("0.00", price("0"));
+		assertEquals("0.05", price("0.05"));
+		assertEquals("9999999999.99", price("9999999999.99"));
+		assertEquals("-3.10", price("-3.1"));
+		assertEquals("-0.50", price("-0.5"));
+		assertEquals("1000.00", price("1E+3"));
+		assertEquals("12345678901234567.50", price("12345678901234567.5"));
+	}
+
+	@Test
+	void serialize_Listing_SeparatesPrices() throws Exception {
+		final var products = List.of(
+				new ProductResponse(1L, "Product", null, new BigDecimal("1.5"), 0),
+				new ProductResponse(2L, "Product", null, new BigDecimal("2"), 0));
+
+		assertEquals("[{\"id\":1,\"name\":\"Product\",\"description\":null,\"price\":1.50,\"version\":0},"
+						+ "{\"id\":2,\"name\":\"Product\",\"description\":null,\"price\":2.00,\"version\":0}]",
+				objectMapper.writeValueAsString(products));
+	}
+
+	@Test
+	void serialize_MoreDecimals_WritesThemPlain() throws Exception {
+		assertEquals("0.125", price("0.125"));
+		assertEquals("0.0000001", price("1E-7"));
+	}
+
+	@Test
+	void serialize_Cbor_WritesTwoDecimals() throws Exception {
+		final var cbor = new ObjectMapper(new CBORFactory());
+		final var product = new ProductResponse(1L, "Product", null, new BigDecimal("12.5"), 0);
+
+		final var read = cbor.readValue(cbor.writeValueAsBytes(product), ProductResponse.class);
+
+		assertEquals(new BigDecimal("12.50"), read.price());
+	}
+
+	private String price(String price) throws Exception {
+		final var json = objectMapper.writeValueAsString(new ProductResponse(1L, "Product", null, new BigDecimal(price), 0));
+		return json.substring(json.indexOf("\"price\":") + 8, json.indexOf(",\"version\""));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package org.backend.developer.assignment.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.backend.developer.assignment.exception.ServiceOverloadedException;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.backend.developer.assignment.repository.ProductChangeRepository;
+import org.backend.developer.assignment.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult;
+
+import java.time.Duration;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	private SimpleMeterRegistry registry;
+	private AdaptiveConcurrencyLimiter limiter;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		limiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyLimitProperties(
+				true, 2, 1, 3, Duration.ofMillis(100), 0.5, Duration.ofSeconds(2)),
+				new ProductMetrics(registry), registry);
+	}
+
+	@Test
+	void acquire_LimitReached_FailsFastWithRetryAfter() {
+		limiter.acquire("getProducts");
+		limiter.acquire("getProducts");
+
+		ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+				() -> limiter.acquire("getProducts"));
+
+		assertAll(
+				() -> assertEquals(Duration.ofSeconds(2), exception.getRetryAfter()),
+				() -> assertEquals(2, limiter.inFlight()),
+				() -> assertEquals(1, registry.get("product.requests.rejected")
+						.tag("reason", "concurrency_limit").counter().count())
+		);
+	}
+
+	@Test
+	void release_FreesSlot() {
+		limiter.acquire("getProducts");
+		limiter.acquire("getProducts");
+		limiter.release();
+
+		assertDoesNotThrow(() -> limiter.acquire("getProducts"));
+	}
+
+	@Test
+	void afterInvocation_SlowOrFailedCalls_CutLimitDownToMinimum() {
+		limiter.afterInvocation(invocation(ProductRepository.class, Duration.ofMillis(150), null));
+		assertEquals(1, limiter.limit());
+
+		limiter.afterInvocation(invocation(ProductRepository.class, Duration.ofMillis(1), new QueryTimeoutException("timeout")));
+		assertEquals(1, limiter.limit());
+	}
+
+	@Test
+	void afterInvocation_SlowCalls_CutLimitOncePerLatencyThreshold() {
+		limiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyLimitProperties(
+				true, 8, 1, 8, Duration.ofMillis(100), 0.5, Duration.ofSeconds(2)),
+				new ProductMetrics(registry), registry);
+		final var start = System.nanoTime();
+
+		limiter.afterInvocation(invocation(ProductRepository.class, Duration.ofMillis(150), null), start);
+		limiter.afterInvocation(invocation(ProductRepository.class, Duration.ofMillis(150), null),
+				start + Duration.ofMillis(50).toNanos());
+		assertEquals(4, limiter.limit(), "calls slowed down by the same congestion cut the limit once");
+
+		limiter.afterInvocation(invocation(ProductRepository.class, Duration.ofMillis(150), null),
+				start + Duration.ofMillis(100).toNanos());
+		assertEquals(2, limiter.limit());
+	}
+
+	@Test
+	void afterInvocation_FastCallsUnderLoad_RaiseLimitUpToMaximum() {
+		limiter.afterInvocation(invocation(ProductRepository.class, Duration.ofMillis(1), null));
+		assertEquals(2, limiter.limit(), "an idle limit is not raised");
+
+		limiter.acquire("getProducts");
+		limiter.afterInvocation(invocation(ProductRepository.class, Duration.ofMillis(1), null));
+		limiter.afterInvocation(invocation(ProductRepository.class, Duration.ofMillis(1), null));
+
+		assertEquals(3, limiter.limit());
+	}
+
+	@Test
+	void afterInvocation_OtherRepositories_AreIgnored() {
+		limiter.afterInvocation(invocation(ProductChangeRepository.class, Duration.ofSeconds(1), null));
+
+		assertEquals(2, limiter.limit());
+	}
+
+	private static RepositoryMethodInvocation invocation(Class<?> repository, Duration duration, Throwable error) {
+		RepositoryMethodInvocationResult result = mock(RepositoryMethodInvocationResult.class);
+		when(result.getError()).thenReturn(error);
+		return new RepositoryMethodInvocation(repository, null, result, duration.toNanos());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package org.backend.developer.assignment.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import org.backend.developer.assignment.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class DatabaseBulkheadTest {
+
+	@Test
+	void acquire_PermitAvailable_Succeeds() {
+		DatabaseBulkhead bulkhead = bulkhead(2, 0, Duration.ZERO);
+
+		bulkhead.acquire();
+		bulkhead.acquire();
+
+		assertEquals(0, bulkhead.availablePermits());
+	}
+
+	@Test
+	void acquire_QueueFull_FailsFastWithRetryAfter() {
+		DatabaseBulkhead bulkhead = bulkhead(1, 0, Duration.ofSeconds(10));
+		bulkhead.acquire();
+
+		ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class, bulkhead::acquire);
+
+		assertAll(
+				() -> assertEquals(Duration.ofSeconds(3), exception.getRetryAfter()),
+				() -> assertEquals(0, bulkhead.waitingCalls())
+		);
+	}
+
+	@Test
+	void acquire_NoPermitWithinMaxWait_Fails() {
+		DatabaseBulkhead bulkhead = bulkhead(1, 1, Duration.ofMillis(10));
+		bulkhead.acquire();
+
+		assertThrows(ServiceOverloadedException.class, bulkhead::acquire);
+		assertEquals(0, bulkhead.waitingCalls());
+	}
+
+	@Test
+	void release_ReturnsPermitToWaitingCall() {
+		DatabaseBulkhead bulkhead = bulkhead(1, 1, Duration.ofSeconds(10));
+		bulkhead.acquire();
+
+		CompletableFuture<Void> waiter = CompletableFuture.runAsync(bulkhead::acquire);
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+			while (bulkhead.waitingCalls() == 0) {
+				Thread.onSpinWait();
+			}
+		});
+		assertFalse(waiter.isDone());
+
+		bulkhead.release();
+
+		assertDoesNotThrow(() -> waiter.get(5, TimeUnit.SECONDS));
+		assertAll(
+				() -> assertEquals(0, bulkhead.availablePermits()),
+				() -> assertEquals(0, bulkhead.waitingCalls())
+		);
+	}
+
+	private static DatabaseBulkhead bulkhead(int maxConcurrentCalls, int maxWaitingCalls, Duration maxWait) {
+		return new DatabaseBulkhead(new DatabaseBulkheadProperties(
+				true, maxConcurrentCalls, maxWaitingCalls, maxWait, Duration.ofSeconds(3)));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package org.backend.developer.assignment.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+class ReplicaRoutingDataSourceTest {
+
+	private static final Duration MAX_LAG = Duration.ofSeconds(10);
+
+	private final Map<DataSource, Duration> lags = new HashMap<>();
+	private final DataSource primary = dataSource();
+	private final DataSource first = dataSource();
+	private final DataSource second = dataSource();
+
+	private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(first, second), MAX_LAG,
+			replica -> {
+				final var lag = lags.get(replica);
+				if (lag == null) {
+					throw new SQLException("Connection refused");
+				}
+				return lag;
+			});
+
+	@Test
+	void getConnection_HealthyReplicas_BalancesAcrossThem() throws SQLException {
+		lags.put(first, Duration.ZERO);
+		lags.put(second, Duration.ofSeconds(1));
+		routing.checkReplicas();
+
+		final var connections = List.of(routing.getConnection(), routing.getConnection(), routing.getConnection());
+
+		assertEquals(2, routing.healthyReplicas());
+		assertSame(first.getConnection(), connections.get(0));
+		assertSame(second.getConnection(), connections.get(1));
+		assertSame(first.getConnection(), connections.get(2));
+	}
+
+	@Test
+	void getConnection_ReplicaLagging_SkipsIt() throws SQLException {
+		lags.put(first, Duration.ofSeconds(30));
+		lags.put(second, Duration.ZERO);
+		routing.checkReplicas();
+
+		assertSame(second.getConnection(), routing.getConnection());
+		assertSame(second.getConnection(), routing.getConnection());
+	}
+
+	@Test
+	void getConnection_NoHealthyReplica_FallsBackToPrimary() throws SQLException {
+		lags.put(first, Duration.ofMinutes(1));
+		routing.checkReplicas();
+
+		assertEquals(0, routing.healthyReplicas());
+		assertSame(primary.getConnection(), routing.getConnection());
+	}
+
+	@Test
+	void getConnection_ReplicaConnectionFails_FallsBackAndTakesReplicaOut() throws SQLException {
+		final var failing = mock(DataSource.class);
+		when(failing.getConnection()).thenThrow(new SQLException("Connection refused"));
+		final var routing = new ReplicaRoutingDataSource(primary, List.of(failing), MAX_LAG, replica -> Duration.ZERO);
+		routing.checkReplicas();
+
+		assertSame(primary.getConnection(), routing.getConnection());
+		assertEquals(0, routing.healthyReplicas());
+	}
+
+	@Test
+	void checkReplicas_ReplicaRecovers_ReceivesReadsAgain() throws SQLException {
+		routing.checkReplicas();
+		assertSame(primary.getConnection(), routing.getConnection());
+
+		lags.put(first, Duration.ZERO);
+		routing.checkReplicas();
+
+		assertSame(first.getConnection(), routing.getConnection());
+	}
+
+	@Test
+	void getConnectionWithCredentials_HealthyReplica_DelegatesToIt() throws SQLException {
+		final var connection = mock(Connection.class);
+		when(first.getConnection("reader", "secret")).thenReturn(connection);
+		lags.put(first, Duration.ZERO);
+		routing.checkReplicas();
+
+		assertSame(connection, routing.getConnection("reader", "secret"));
+	}
+
+	@Test
+	void getConnectionWithCredentials_NoHealthyReplica_DelegatesToPrimary() throws SQLException {
+		final var connection = mock(Connection.class);
+		when(primary.getConnection("reader", "secret")).thenReturn(connection);
+		routing.checkReplicas();
+
+		assertSame(connection, routing.getConnection("reader", "secret"));
+	}
+
+	@Test
+	void getConnectionWithCredentials_NotSupportedByReplica_KeepsItHealthy() throws SQLException {
+		when(first.getConnection("reader", "secret"))
+				.thenThrow(new SQLFeatureNotSupportedException("getConnection(username, password) is unsupported"));
+		lags.put(first, Duration.ZERO);
+		routing.checkReplicas();
+
+		assertThrows(SQLFeatureNotSupportedException.class, () -> routing.getConnection("reader", "secret"));
+		assertEquals(1, routing.healthyReplicas());
+	}
+
+	private static DataSource dataSource() {
+		final var dataSource = mock(DataSource.class);
+		final var connection = mock(Connection.class);
+		try {
+			when(dataSource.getConnection()).thenReturn(connection);
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+		return dataSource;
+	}
+}
\ No newline at end of file
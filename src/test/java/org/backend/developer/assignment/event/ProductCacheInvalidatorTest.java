@@ -0,0 +1,60 @@
+package org.backend.developer.assignment.event;
+
+import static org.backend.developer.assignment.config.CacheConfig.PRODUCTS_CACHE;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.backend.developer.assignment.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class ProductCacheInvalidatorTest {
+
+	private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(PRODUCTS_CACHE);
+
+	private final Cache entityCache = mock(Cache.class);
+
+	private final ProductCacheInvalidator invalidator = new ProductCacheInvalidator(cacheManager, entityManagerFactory());
+
+	@Test
+	void onProductChanged_EvictsOnlyTheChangedProduct() {
+		var cache = cacheManager.getCache(PRODUCTS_CACHE);
+		cache.put(1L, "first");
+		cache.put(2L, "second");
+
+		invalidator.onProductChanged(new ProductChangedEvent(1L));
+
+		assertAll(
+				() -> assertNull(cache.get(1L)),
+				() -> assertNotNull(cache.get(2L))
+		);
+		verify(entityCache).evict(Product.class, 1L);
+	}
+
+	@Test
+	void onProductChangesMissed_ClearsTheWholeCache() {
+		var cache = cacheManager.getCache(PRODUCTS_CACHE);
+		cache.put(1L, "first");
+		cache.put(2L, "second");
+
+		invalidator.onProductChangesMissed(new ProductChangesMissedEvent());
+
+		assertAll(
+				() -> assertNull(cache.get(1L)),
+				() -> assertNull(cache.get(2L))
+		);
+		verify(entityCache).evict(Product.class);
+	}
+
+	private EntityManagerFactory entityManagerFactory() {
+		final var entityManagerFactory = mock(EntityManagerFactory.class);
+		when(entityManagerFactory.getCache()).thenReturn(entityCache);
+		return entityManagerFactory;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package org.backend.developer.assignment.event;
+
+import static org.backend.developer.assignment.config.CacheConfig.PRODUCTS_CACHE;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+
+class ProductChangeListenerTest {
+
+	private static final long WAIT_MILLIS = 2_000;
+
+	private final ProductChangeListenerProperties properties =
+			new ProductChangeListenerProperties(true, Duration.ofMillis(10), Duration.ofMillis(10));
+
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+	private ProductChangeListener listener;
+
+	@AfterEach
+	void stopListener() {
+		if (listener != null && listener.isRunning()) {
+			listener.stop();
+		}
+	}
+
+	@Test
+	void notification_PublishesProductChangedEventAfterInitialFlush() throws Exception {
+		var connection = connection();
+		var notifications = new PGNotification[]{notification("42")};
+		when(pgConnection(connection).getNotifications(anyInt()))
+				.thenReturn(notifications)
+				.thenReturn(null);
+
+		start(connection);
+
+		verify(eventPublisher, timeout(WAIT_MILLIS)).publishEvent(new ProductChangedEvent(42L));
+		var order = inOrder(eventPublisher);
+		order.verify(eventPublisher).publishEvent(new ProductChangesMissedEvent());
+		order.verify(eventPublisher).publishEvent(new ProductChangedEvent(42L));
+	}
+
+	@Test
+	void notification_UnexpectedPayload_PublishesChangesMissed() throws Exception {
+		var connection = connection();
+		var notifications = new PGNotification[]{notification("not-a-number")};
+		when(pgConnection(connection).getNotifications(anyInt()))
+				.thenReturn(notifications)
+				.thenReturn(null);
+
+		start(connection);
+
+		verify(eventPublisher, timeout(WAIT_MILLIS).times(2)).publishEvent(new ProductChangesMissedEvent());
+	}
+
+	@Test
+	void connectionDropped_ReconnectsAndKeepsPublishing() throws Exception {
+		var dropped = connection();
+		var droppedNotifications = new PGNotification[]{notification("1")};
+		when(pgConnection(dropped).getNotifications(anyInt()))
+				.thenReturn(droppedNotifications)
+				.thenThrow(new SQLException("An I/O error occurred while sending to the backend"));
+		var reconnected = connection();
+		var reconnectedNotifications = new PGNotification[]{notification("2")};
+		when(pgConnection(reconnected).getNotifications(anyInt()))
+				.thenReturn(reconnectedNotifications)
+				.thenReturn(null);
+
+		start(dropped, reconnected);
+
+		verify(eventPublisher, timeout(WAIT_MILLIS)).publishEvent(new ProductChangedEvent(2L));
+		verify(eventPublisher).publishEvent(new ProductChangedEvent(1L));
+		verify(eventPublisher, times(2)).publishEvent(new ProductChangesMissedEvent());
+		verify(dropped).close();
+	}
+
+	@Test
+	void connectionDropped_FlushesProductCacheAfterReconnect() throws Exception {
+		var cacheManager = new ConcurrentMapCacheManager(PRODUCTS_CACHE);
+		var invalidator = new ProductCacheInvalidator(cacheManager, mock(EntityManagerFactory.class, RETURNS_DEEP_STUBS));
+		doAnswer(invocation -> {
+			if (invocation.getArgument(0) instanceof ProductChangedEvent event) {
+				invalidator.onProductChanged(event);
+			} else if (invocation.getArgument(0) instanceof ProductChangesMissedEvent event) {
+				invalidator.onProductChangesMissed(event);
+			}
+			return null;
+		}).when(eventPublisher).publishEvent(any(Object.class));
+
+		var cache = cacheManager.getCache(PRODUCTS_CACHE);
+		var dropped = connection();
+		when(pgConnection(dropped).getNotifications(anyInt())).thenAnswer(invocation -> {
+			// products cached while connected, then changes stop arriving
+			cache.put(1L, "first");
+			cache.put(2L, "second");
+			throw new SQLException("An I/O error occurred while sending to the backend");
+		});
+		var reconnected = connection();
+		var reconnectedPg = pgConnection(reconnected);
+		when(reconnectedPg.getNotifications(anyInt())).thenReturn(null);
+
+		start(dropped, reconnected);
+
+		// the flush is published before the new connection starts receiving
+		verify(reconnectedPg, timeout(WAIT_MILLIS).atLeastOnce()).getNotifications(anyInt());
+		assertAll(
+				() -> assertNull(cache.get(1L)),
+				() -> assertNull(cache.get(2L))
+		);
+	}
+
+	private void start(Connection... connections) {
+		Queue<Connection> available = new ArrayDeque<>(List.of(connections));
+		listener = new ProductChangeListener(new DataSourceProperties(), properties, eventPublisher) {
+			@Override
+			Connection openConnection() throws SQLException {
+				var connection = available.poll();
+				if (connection == null) {
+					throw new SQLException("Connection refused");
+				}
+				return connection;
+			}
+		};
+		listener.start();
+	}
+
+	private static Connection connection() throws SQLException {
+		var connection = mock(Connection.class);
+		when(connection.createStatement()).thenReturn(mock(Statement.class));
+		var pgConnection = mock(PGConnection.class);
+		when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+		return connection;
+	}
+
+	private static PGConnection pgConnection(Connection connection) throws SQLException {
+		return connection.unwrap(PGConnection.class);
+	}
+
+	private static PGNotification notification(String parameter) {
+		var notification = mock(PGNotification.class);
+		when(notification.getParameter()).thenReturn(parameter);
+		return notification;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package org.backend.developer.assignment.event;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.backend.developer.assignment.repository.ProductChangeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+class ProductListingVersionTest {
+
+	private final ProductChangeRepository productChangeRepository = mock(ProductChangeRepository.class);
+
+	private final Queue<Runnable> scheduled = new ArrayDeque<>();
+
+	@Test
+	void etag_SameMarker_SameTagOnEveryNode() {
+		when(productChangeRepository.findListingMarker()).thenReturn("7.0.3");
+		var node = listingVersion();
+		var otherNode = listingVersion();
+
+		assertAll(
+				() -> assertNull(node.etag(), "untagged until the marker is read"),
+				() -> assertNull(otherNode.etag())
+		);
+		runScheduled();
+
+		assertAll(
+				() -> assertEquals("W/\"7.0.3\"", node.etag()),
+				() -> assertEquals(node.etag(), otherNode.etag())
+		);
+	}
+
+	@Test
+	void onProductChanged_ReadsMarkerOnceForABurst() {
+		when(productChangeRepository.findListingMarker()).thenReturn("7.0.3", "9.0.0");
+		var node = listingVersion();
+		node.etag();
+		runScheduled();
+
+		node.onProductChanged(new ProductChangedEvent(1L));
+		node.onProductChanged(new ProductChangedEvent(2L));
+		assertNull(node.etag(), "the old tag no longer matches");
+		runScheduled();
+
+		assertEquals("W/\"9.0.0\"", node.etag());
+		verify(productChangeRepository, times(2)).findListingMarker();
+	}
+
+	@Test
+	void onProductChanged_WhileReading_ReadsMarkerAgain() {
+		var node = listingVersion();
+		when(productChangeRepository.findListingMarker()).thenAnswer(invocation -> {
+			node.onProductChanged(new ProductChangedEvent(1L));
+			return "7.0.3";
+		}).thenReturn("8.0.0");
+
+		node.etag();
+		runScheduled();
+
+		assertEquals("W/\"8.0.0\"", node.etag());
+	}
+
+	@Test
+	void etag_MarkerReadFails_StaysUntagged() {
+		when(productChangeRepository.findListingMarker()).thenThrow(new IllegalStateException("down"));
+		var node = listingVersion();
+
+		node.etag();
+		runScheduled();
+
+		assertNull(node.etag());
+	}
+
+	private ProductListingVersion listingVersion() {
+		var taskScheduler = mock(TaskScheduler.class);
+		when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+			scheduled.add(invocation.getArgument(0));
+			return null;
+		});
+		return new ProductListingVersion(productChangeRepository, taskScheduler);
+	}
+
+	private void runScheduled() {
+		while (!scheduled.isEmpty()) {
+			scheduled.poll().run();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package org.backend.developer.assignment.export;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.event.ProductChangedEvent;
+import org.backend.developer.assignment.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+class ProductSnapshotExporterTest {
+
+	@TempDir
+	private Path directory;
+
+	private ProductService productService;
+	private ProductSnapshotExporter exporter;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		productService = mock(ProductService.class);
+		doAnswer(invocation -> {
+			Consumer<ProductResponse> consumer = invocation.getArgument(0);
+			consumer.accept(new ProductResponse(1L, "Product 1", "Some product", new BigDecimal("100.00"), 0));
+			consumer.accept(new ProductResponse(2L, "Product 2", "Very good product", new BigDecimal("150.00"), 3));
+			return null;
+		}).when(productService).streamProducts(any());
+		exporter = new ProductSnapshotExporter(productService, new ObjectMapper(), new ProductExportProperties(
+				true, directory, Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofSeconds(10)));
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		exporter.deleteSnapshots();
+	}
+
+	@Test
+	void refresh_WritesGzipNdjsonSnapshot() throws IOException {
+		exporter.refresh();
+
+		final var snapshot = exporter.current().orElseThrow();
+		try (var reader = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(Files.newInputStream(snapshot.file())), StandardCharsets.UTF_8))) {
+			assertAll(
+					() -> assertEquals(List.of(
+							"{\"id\":1,\"name\":\"Product 1\",\"description\":\"Some product\",\"price\":100.00,\"version\":0}",
+							"{\"id\":2,\"name\":\"Product 2\",\"description\":\"Very good product\",\"price\":150.00,\"version\":3}"),
+							reader.lines().toList()),
+					() -> assertEquals(Files.size(snapshot.file()), snapshot.size())
+			);
+		}
+	}
+
+	@Test
+	void refresh_Unchanged_KeepsSnapshot() {
+		exporter.refresh();
+		exporter.refresh();
+
+		verify(productService, times(1)).streamProducts(any());
+	}
+
+	@Test
+	void refresh_AfterChange_PublishesNewSnapshotAndDeletesTheOneBefore() throws IOException {
+		exporter.refresh();
+		final var first = exporter.current().orElseThrow();
+		exporter.onProductChanged(new ProductChangedEvent(1L));
+		exporter.refresh();
+		final var second = exporter.current().orElseThrow();
+		exporter.onProductChanged(new ProductChangedEvent(1L));
+		exporter.refresh();
+
+		assertAll(
+				() -> assertNotEquals(first.file(), second.file()),
+				() -> assertEquals(first.etag(), second.etag(), "the same products give the same tag"),
+				() -> assertFalse(Files.exists(first.file())),
+				() -> assertTrue(Files.exists(second.file()), "kept for transfers that have not opened it yet")
+		);
+	}
+}
\ No newline at end of file
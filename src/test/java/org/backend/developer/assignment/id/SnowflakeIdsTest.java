@@ -0,0 +1,72 @@
+package org.backend.developer.assignment.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class SnowflakeIdsTest {
+
+	private final AtomicLong clock = new AtomicLong(SnowflakeIds.EPOCH.toEpochMilli() + 1000);
+
+	@Test
+	void nextId_EncodesMillisNodeAndSequence() {
+		final var ids = new SnowflakeIds(3, clock::get);
+
+		final var first = ids.nextId();
+		final var second = ids.nextId();
+
+		assertEquals(1000L << 12 | 3 << 7, first);
+		assertEquals(first + 1, second);
+	}
+
+	@Test
+	void nextId_SequenceExhausted_CarriesOnInNextMillisecond() {
+		final var ids = new SnowflakeIds(0, clock::get);
+
+		long id = 0;
+		for (int i = 0; i <= 128; i++) {
+			id = ids.nextId();
+		}
+
+		assertEquals(1001L << 12, id);
+		clock.incrementAndGet();
+		assertEquals((1001L << 12) + 1, ids.nextId());
+	}
+
+	@Test
+	void nextId_ClockStepsBack_KeepsGrowing() {
+		final var ids = new SnowflakeIds(0, clock::get);
+
+		final var before = ids.nextId();
+		clock.addAndGet(-500);
+
+		assertTrue(ids.nextId() > before);
+	}
+
+	@Test
+	void nextId_DistinctNodes_NeverCollide() {
+		final var node1 = new SnowflakeIds(1, clock::get);
+		final var node2 = new SnowflakeIds(2, clock::get);
+
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(node1.nextId() != node2.nextId());
+		}
+	}
+
+	@Test
+	void nextId_StaysExactAsJavaScriptNumber() {
+		clock.set(SnowflakeIds.EPOCH.toEpochMilli() + (1L << 41) - 1);
+		final var ids = new SnowflakeIds(SnowflakeIds.MAX_NODE_ID, clock::get);
+
+		assertTrue(ids.nextId() < 1L << 53);
+	}
+
+	@Test
+	void forNode_OutOfRange_Throws() {
+		assertThrows(IllegalArgumentException.class, () -> SnowflakeIds.forNode(SnowflakeIds.MAX_NODE_ID + 1));
+	}
+}
\ No newline at end of file
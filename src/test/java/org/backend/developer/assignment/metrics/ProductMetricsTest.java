@@ -0,0 +1,60 @@
+package org.backend.developer.assignment.metrics;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.backend.developer.assignment.exception.ProductNotFoundException;
+import org.backend.developer.assignment.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+class ProductMetricsTest {
+
+	private SimpleMeterRegistry registry;
+	private ProductMetrics metrics;
+	private Method getProductById;
+
+	@BeforeEach
+	void setUp() throws NoSuchMethodException {
+		registry = new SimpleMeterRegistry();
+		metrics = new ProductMetrics(registry);
+		getProductById = ProductService.class.getMethod("getProductById", Long.class);
+	}
+
+	@Test
+	void recordServiceCall_Success_ReusesTimerTaggedWithMethod() {
+		metrics.recordServiceCall(getProductById, 1_000_000, null);
+		metrics.recordServiceCall(getProductById, 3_000_000, null);
+
+		var timer = registry.get("product.service")
+				.tag("method", "getProductById")
+				.tag("exception", "none")
+				.timer();
+		assertEquals(2, timer.count());
+		assertEquals(4_000_000, timer.totalTime(NANOSECONDS));
+		assertEquals(1, registry.find("product.service").timers().size());
+	}
+
+	@Test
+	void recordServiceCall_ProductNotFound_TagsExceptionAndCountsNotFound() {
+		metrics.recordServiceCall(getProductById, 1_000_000, new ProductNotFoundException("Product not found"));
+
+		assertEquals(1, registry.get("product.service").tag("exception", "ProductNotFoundException").timer().count());
+		assertEquals(1, registry.get("product.not.found").tag("operation", "getProductById").counter().count());
+		assertEquals(0, registry.get("product.service").tag("exception", "none").timer().count());
+	}
+
+	@Test
+	void validationFailure_SameType_IncrementsSameCounter() {
+		metrics.validationFailure(IllegalArgumentException.class);
+		metrics.validationFailure(IllegalArgumentException.class);
+
+		var counter = registry.get("product.validation.failures").tag("exception", "IllegalArgumentException").counter();
+		assertEquals(2, counter.count());
+		assertSame(counter, registry.find("product.validation.failures").counter());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package org.backend.developer.assignment.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.backend.developer.assignment.exception.RateLimitExceededException;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.backend.developer.assignment.ratelimit.RateLimitProperties.Budget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+class RequestRateLimiterTest {
+
+	private SimpleMeterRegistry registry;
+	private RequestRateLimiter rateLimiter;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		rateLimiter = new RequestRateLimiter(new RateLimitProperties(true, null, new Budget(31, 1), 100,
+				Map.of("getProducts", 10), Map.of("streamProducts", new Budget(1, 0.001))),
+				new ProductMetrics(registry));
+	}
+
+	@Test
+	void acquire_ChargesEndpointCostToClient() {
+		for (int i = 0; i < 3; i++) {
+			rateLimiter.acquire("10.0.0.1", "getProducts");
+		}
+
+		RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+				() -> rateLimiter.acquire("10.0.0.1", "getProducts"));
+
+		assertAll(
+				() -> assertTrue(exception.getRetryAfter().compareTo(Duration.ofSeconds(8)) > 0),
+				() -> assertEquals(1, registry.get("product.requests.rejected")
+						.tag("endpoint", "getProducts").tag("reason", "rate_limit_client").counter().count())
+		);
+	}
+
+	@Test
+	void acquire_BudgetsAreKeptPerClient() {
+		for (int i = 0; i < 3; i++) {
+			rateLimiter.acquire("10.0.0.1", "getProducts");
+		}
+
+		assertDoesNotThrow(() -> rateLimiter.acquire("10.0.0.2", "getProducts"));
+		assertDoesNotThrow(() -> rateLimiter.acquire("10.0.0.1", "getProductById"),
+				"1 token left would not be enough for a listing, but is for a single read");
+	}
+
+	@Test
+	void acquire_EndpointBudgetIsSharedByClients() {
+		rateLimiter.acquire("10.0.0.1", "streamProducts");
+
+		assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire("10.0.0.2", "streamProducts"));
+		assertEquals(1, registry.get("product.requests.rejected")
+				.tag("reason", "rate_limit_endpoint").counter().count());
+	}
+}
\ No newline at end of file
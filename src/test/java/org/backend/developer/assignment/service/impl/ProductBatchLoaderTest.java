@@ -0,0 +1,223 @@
+package org.backend.developer.assignment.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.config.ProductLoaderProperties;
+import org.backend.developer.assignment.exception.ServiceOverloadedException;
+import org.backend.developer.assignment.mapper.ProductMapper;
+import org.backend.developer.assignment.metrics.ProductMetrics;
+import org.backend.developer.assignment.model.Product;
+import org.backend.developer.assignment.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+class ProductBatchLoaderTest {
+
+	private final ProductRepository productRepository = mock(ProductRepository.class);
+
+	private final ProductMapper productMapper = mock(ProductMapper.class);
+
+	private final ProductMetrics productMetrics = mock(ProductMetrics.class);
+
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+	@Test
+	void load_ConcurrentCallsForSameId_ShareOneQuery() {
+		ProductBatchLoader loader = loader(Duration.ofMillis(200), 100);
+		List<Product> products = List.of(new Product());
+		ProductResponse productResponse = new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 0);
+
+		when(productRepository.findAllByIdArray(any())).thenReturn(products);
+		when(productMapper.from(products)).thenReturn(List.of(productResponse));
+
+		List<Optional<ProductResponse>> responses = IntStream.range(0, 10)
+				.mapToObj(i -> CompletableFuture.supplyAsync(() -> loader.load(1L)))
+				.toList().stream()
+				.map(CompletableFuture::join)
+				.toList();
+
+		assertAll(
+				() -> assertEquals(10, responses.size()),
+				() -> responses.forEach(response -> assertSame(productResponse, response.orElseThrow()))
+		);
+		verify(productRepository, times(1)).findAllByIdArray(new Long[]{1L});
+		verify(productMetrics).recordBatchLoad(1);
+	}
+
+	@Test
+	void load_DistinctIdsWithinWindow_ReadWithOneQuery() {
+		ProductBatchLoader loader = loader(Duration.ofMillis(200), 100);
+		List<Product> products = List.of(new Product());
+		ProductResponse productResponse = new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 0);
+
+		when(productRepository.findAllByIdArray(any())).thenReturn(products);
+		when(productMapper.from(products)).thenReturn(List.of(productResponse));
+
+		CompletableFuture<Optional<ProductResponse>> first = CompletableFuture.supplyAsync(() -> loader.load(1L));
+		CompletableFuture<Optional<ProductResponse>> second = CompletableFuture.supplyAsync(() -> loader.load(2L));
+
+		assertAll(
+				() -> assertEquals(Optional.of(productResponse), first.join()),
+				() -> assertEquals(Optional.empty(), second.join())
+		);
+		ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+		verify(productRepository, times(1)).findAllByIdArray(ids.capture());
+		assertEquals(Set.of(1L, 2L), Set.of(ids.getValue()));
+	}
+
+	@Test
+	void load_FullBatch_ReadsWithoutWaitingForWindow() {
+		ProductBatchLoader loader = loader(Duration.ofMinutes(1), 1);
+
+		when(productRepository.findAllByIdArray(any())).thenReturn(List.of());
+		when(productMapper.from(List.<Product>of())).thenReturn(List.of());
+
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertEquals(Optional.empty(), loader.load(1L)));
+	}
+
+	@Test
+	void load_FailedQuery_ThrowsToEveryCaller() {
+		ProductBatchLoader loader = loader(Duration.ZERO, 100);
+		QueryTimeoutException failure = new QueryTimeoutException("timeout");
+
+		when(productRepository.findAllByIdArray(any())).thenThrow(failure);
+
+		assertSame(failure, assertThrows(QueryTimeoutException.class, () -> loader.load(1L)));
+	}
+
+	@Test
+	void load_ReadNotDoneWithinTimeout_ThrowsOverloaded() {
+		ProductBatchLoader loader = loader(Duration.ZERO, 100, Duration.ofMillis(50));
+		CountDownLatch release = new CountDownLatch(1);
+
+		when(productRepository.findAllByIdArray(any())).thenAnswer(invocation -> {
+			release.await();
+			return List.of();
+		});
+
+		try {
+			assertTimeoutPreemptively(Duration.ofSeconds(5),
+					() -> assertThrows(ServiceOverloadedException.class, () -> loader.load(1L)));
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	void load_AfterInvalidate_StartsNewReadInsteadOfJoiningRunningOne() throws Exception {
+		ProductBatchLoader loader = loader(Duration.ZERO, 100);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<Product> products = List.of(new Product());
+		ProductResponse productResponse = new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 1);
+
+		when(productRepository.findAllByIdArray(any()))
+				.thenAnswer(invocation -> {
+					started.countDown();
+					release.await();
+					return List.of();
+				})
+				.thenReturn(products);
+		when(productMapper.from(List.<Product>of())).thenReturn(List.of());
+		when(productMapper.from(products)).thenReturn(List.of(productResponse));
+
+		CompletableFuture<Optional<ProductResponse>> beforeWrite = CompletableFuture.supplyAsync(() -> loader.load(1L));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		loader.invalidate(List.of(1L));
+
+		try {
+			assertEquals(Optional.of(productResponse), assertTimeoutPreemptively(Duration.ofSeconds(5), () -> loader.load(1L)));
+		} finally {
+			release.countDown();
+		}
+		assertEquals(Optional.empty(), beforeWrite.join());
+		verify(productRepository, times(2)).findAllByIdArray(new Long[]{1L});
+	}
+
+	@Test
+	void load_ExecutorRejectsDelayedFlush_StillReads() {
+		ProductBatchLoader loader = loader(Duration.ofMillis(1), 100, rejectingExecutor());
+
+		when(productRepository.findAllByIdArray(any())).thenReturn(List.of());
+		when(productMapper.from(List.<Product>of())).thenReturn(List.of());
+
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertEquals(Optional.empty(), loader.load(1L)));
+	}
+
+	@Test
+	void load_ExecutorRejectsFullBatch_ReadsOnCallingThread() {
+		ProductBatchLoader loader = loader(Duration.ofMinutes(1), 1, rejectingExecutor());
+
+		when(productRepository.findAllByIdArray(any())).thenReturn(List.of());
+		when(productMapper.from(List.<Product>of())).thenReturn(List.of());
+
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertEquals(Optional.empty(), loader.load(1L)));
+	}
+
+	@Test
+	void load_ReadsOnTheLoaderOwnThreads() {
+		ProductBatchLoader loader = new ProductBatchLoader(productRepository, productMapper, productMetrics,
+				transactionManager, new ProductLoaderProperties(Duration.ofMillis(1), 100, Duration.ofSeconds(5), 1, 1));
+		Set<String> readers = ConcurrentHashMap.newKeySet();
+		when(productRepository.findAllByIdArray(any())).thenAnswer(invocation -> {
+			readers.add(Thread.currentThread().getName());
+			return List.of();
+		});
+
+		try {
+			assertEquals(Optional.empty(), loader.load(1L));
+		} finally {
+			loader.destroy();
+		}
+
+		assertEquals(Set.of("product-loader-1"), readers);
+	}
+
+	private ProductBatchLoader loader(Duration window, int maxBatchSize) {
+		return loader(window, maxBatchSize, Duration.ofSeconds(5));
+	}
+
+	private ProductBatchLoader loader(Duration window, int maxBatchSize, Duration timeout) {
+		return new ProductBatchLoader(productRepository, productMapper, productMetrics, transactionManager,
+				new SimpleAsyncTaskExecutor(), new ProductLoaderProperties(window, maxBatchSize, timeout, 10, 100));
+	}
+
+	private ProductBatchLoader loader(Duration window, int maxBatchSize, AsyncTaskExecutor executor) {
+		return new ProductBatchLoader(productRepository, productMapper, productMetrics, transactionManager,
+				executor, new ProductLoaderProperties(window, maxBatchSize, Duration.ofSeconds(5), 10, 100));
+	}
+
+	private static AsyncTaskExecutor rejectingExecutor() {
+		AsyncTaskExecutor executor = mock(AsyncTaskExecutor.class);
+		doThrow(new RejectedExecutionException("Executor is shut down")).when(executor).execute(any());
+		return executor;
+	}
+}
\ No newline at end of file
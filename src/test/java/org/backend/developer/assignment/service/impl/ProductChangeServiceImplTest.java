@@ -0,0 +1,118 @@
+package org.backend.developer.assignment.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.backend.developer.assignment.api.dto.request.ChangeCursor;
+import org.backend.developer.assignment.api.dto.response.ProductChangesResponse;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.exception.ChangeCursorExpiredException;
+import org.backend.developer.assignment.mapper.ProductMapper;
+import org.backend.developer.assignment.model.Product;
+import org.backend.developer.assignment.model.ProductChange;
+import org.backend.developer.assignment.model.ProductChangeOperation;
+import org.backend.developer.assignment.repository.ProductChangeRepository;
+import org.backend.developer.assignment.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+class ProductChangeServiceImplTest {
+
+	private final ProductMapper productMapper = mock(ProductMapper.class);
+
+	private final ProductChangeRepository changeRepository = mock(ProductChangeRepository.class);
+
+	private final ProductRepository productRepository = mock(ProductRepository.class);
+
+	private final ProductChangeServiceImpl productChangeService =
+			new ProductChangeServiceImpl(productMapper, changeRepository, productRepository);
+
+	@BeforeEach
+	void setUp() {
+		when(changeRepository.findPrunedHorizon()).thenReturn(cursorView(10, 5));
+	}
+
+	@Test
+	void getHead_ReturnsCursorBeforeOldestRunningTransaction() {
+		when(changeRepository.findSnapshotXmin()).thenReturn(42L);
+
+		assertEquals(new ChangeCursor(41, Long.MAX_VALUE), productChangeService.getHead());
+	}
+
+	@Test
+	void getChanges_ReturnsChangesWithCurrentProductsAndNextCursor() {
+		Product product = Product.builder().id(7L).name("Product").price(new BigDecimal("100.00")).build();
+		ProductResponse productResponse = new ProductResponse(7L, "Product", null, new BigDecimal("100.00"), 0);
+		List<ProductChange> changes = List.of(
+				change(12, 8, 7L, ProductChangeOperation.UPDATE),
+				change(13, 9, 8L, ProductChangeOperation.DELETE));
+
+		when(changeRepository.findCompletedAfter(11, 3, 100)).thenReturn(changes);
+		when(productRepository.findAllByIdArray(new Long[]{7L, 8L})).thenReturn(List.of(product));
+		when(productMapper.from(product)).thenReturn(productResponse);
+
+		ProductChangesResponse response = productChangeService.getChanges(new ChangeCursor(11, 3), 100);
+
+		assertAll(
+				() -> assertEquals("13.9", response.cursor()),
+				() -> assertEquals("12.8", response.changes().get(0).cursor()),
+				() -> assertEquals(productResponse, response.changes().get(0).product()),
+				() -> assertEquals(ProductChangeOperation.DELETE, response.changes().get(1).operation()),
+				() -> assertNull(response.changes().get(1).product())
+		);
+	}
+
+	@Test
+	void getChanges_NoChanges_KeepsCursor() {
+		when(changeRepository.findCompletedAfter(11, 3, 100)).thenReturn(List.of());
+
+		ProductChangesResponse response = productChangeService.getChanges(new ChangeCursor(11, 3), 100);
+
+		assertAll(
+				() -> assertEquals(List.of(), response.changes()),
+				() -> assertEquals("11.3", response.cursor())
+		);
+	}
+
+	@Test
+	void getChanges_CursorBeforePrunedHorizon_ThrowsExpired() {
+		assertThrows(ChangeCursorExpiredException.class,
+				() -> productChangeService.getChanges(new ChangeCursor(10, 4), 100));
+		verify(changeRepository, never()).findCompletedAfter(10, 4, 100);
+	}
+
+	private static ProductChange change(long txid, long seq, long productId, ProductChangeOperation operation) {
+		ProductChange change = new ProductChange();
+		ReflectionTestUtils.setField(change, "txid", txid);
+		ReflectionTestUtils.setField(change, "seq", seq);
+		ReflectionTestUtils.setField(change, "productId", productId);
+		ReflectionTestUtils.setField(change, "operation", operation);
+		ReflectionTestUtils.setField(change, "changedAt", Instant.EPOCH);
+		return change;
+	}
+
+	private static ProductChangeRepository.CursorView cursorView(long txid, long seq) {
+		return new ProductChangeRepository.CursorView() {
+			@Override
+			public long getTxid() {
+				return txid;
+			}
+
+			@Override
+			public long getSeq() {
+				return seq;
+			}
+		};
+	}
+}
\ No newline at end of file
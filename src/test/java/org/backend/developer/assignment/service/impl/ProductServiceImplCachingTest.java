@@ -0,0 +1,110 @@
+package org.backend.developer.assignment.service.impl;
+
+import static org.backend.developer.assignment.config.CacheConfig.PRODUCTS_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.config.CacheConfig;
+import org.backend.developer.assignment.mapper.ProductMapper;
+import org.backend.developer.assignment.model.Product;
+import org.backend.developer.assignment.repository.ProductRepository;
+import org.backend.developer.assignment.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@SpringJUnitConfig
+@Import({CacheConfig.class, ProductServiceImpl.class})
+@TestPropertySource(properties = {
+		"spring.cache.cache-names=products",
+		"spring.cache.caffeine.spec=maximumSize=100,recordStats"
+})
+class ProductServiceImplCachingTest {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@MockitoBean
+	private ProductRepository productRepository;
+
+	@MockitoBean
+	private ProductMapper productMapper;
+
+	@MockitoBean(answers = Answers.RETURNS_DEEP_STUBS)
+	private EntityManager entityManager;
+
+	@MockitoBean
+	private Validator validator;
+
+	@MockitoBean
+	private ProductBatchLoader productLoader;
+
+	@BeforeEach
+	void clearCache() {
+		cacheManager.getCache(PRODUCTS_CACHE).clear();
+	}
+
+	@Test
+	void getProductById_RepeatedCalls_LoadOnce() throws Exception {
+		Long productId = 1L;
+		ProductResponse productResponse = new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 0);
+
+		when(productLoader.load(productId)).thenReturn(Optional.of(productResponse));
+
+		assertEquals(productResponse, productService.getProductById(productId));
+		assertEquals(productResponse, productService.getProductById(productId));
+
+		verify(productLoader, times(1)).load(productId);
+	}
+
+	@Test
+	void updateProduct_ReplacesCachedProduct() throws Exception {
+		Long productId = 1L;
+		Product product = new Product();
+		ProductResponse original = new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 0);
+		ProductResponse updated = new ProductResponse(1L, "Product", "Desc", new BigDecimal("80.00"), 0);
+		ProductRequest request = new ProductRequest("Product", "Desc", new BigDecimal("80.00"));
+
+		when(productLoader.load(productId)).thenReturn(Optional.of(original));
+		when(productRepository.updateById(productId, "Product", "Desc", new BigDecimal("80.00"))).thenReturn(Optional.of(product));
+		when(productMapper.from(product)).thenReturn(updated);
+
+		productService.getProductById(productId);
+		productService.updateProduct(productId, request);
+
+		assertEquals(updated, productService.getProductById(productId));
+	}
+
+	@Test
+	void deleteProduct_EvictsCachedProduct() throws Exception {
+		Long productId = 1L;
+
+		when(productLoader.load(productId))
+				.thenReturn(Optional.of(new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 0)));
+		when(productRepository.deleteProductById(productId)).thenReturn(1);
+
+		productService.getProductById(productId);
+		productService.deleteProduct(productId);
+
+		assertNull(cacheManager.getCache(PRODUCTS_CACHE).get(productId));
+	}
+}
\ No newline at end of file
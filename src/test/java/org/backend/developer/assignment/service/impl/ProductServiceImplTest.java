@@ -5,22 +5,40 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.backend.developer.assignment.api.dto.request.ProductBatchUpdateRequest;
+import org.backend.developer.assignment.api.dto.request.ProductPageRequest;
 import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.request.ProductSort;
+import org.backend.developer.assignment.api.dto.response.BatchItemError;
 import org.backend.developer.assignment.api.dto.response.ProductResponse;
+import org.backend.developer.assignment.api.dto.response.ProductsByIdResponse;
 import org.backend.developer.assignment.exception.ProductNotFoundException;
+import org.backend.developer.assignment.exception.ProductVersionMismatchException;
 import org.backend.developer.assignment.mapper.ProductMapper;
 import org.backend.developer.assignment.model.Product;
 import org.backend.developer.assignment.repository.ProductRepository;
 import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 class ProductServiceImplTest {
 
@@ -28,35 +46,131 @@ class ProductServiceImplTest {
 
 	private final ProductMapper productMapper = mock(ProductMapper.class);
 
-	private final ProductServiceImpl productService = new ProductServiceImpl(productMapper, productRepository);
+	private final EntityManager entityManager = mock(EntityManager.class, RETURNS_DEEP_STUBS);
+
+	private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+	private final CacheManager cacheManager = mock(CacheManager.class);
+
+	private final ProductBatchLoader productLoader = mock(ProductBatchLoader.class);
+
+	private final ProductServiceImpl productService = new ProductServiceImpl(productMapper, productRepository,
+			entityManager, validator, cacheManager, productLoader);
 
 
 	@Test
-	void getAllProducts_ReturnsListOfProducts() {
+	void getProducts_ReturnsPageOfProducts() {
 		List<Product> products = List.of(new Product());
-		List<ProductResponse> productResponses = List.of(new ProductResponse(1L, "Product", "Desc", 100.0));
+		List<ProductResponse> productResponses = List.of(new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 0));
 
-		when(productRepository.findAll()).thenReturn(products);
+		when(productRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(50))).thenReturn(products);
 		when(productMapper.from(products)).thenReturn(productResponses);
 
-		List<ProductResponse> response = productService.getAllProducts();
+		List<ProductResponse> response = productService.getProducts(ProductPageRequest.after(10L), 50);
 
 		assertAll(
 				() -> assertNotNull(response),
 				() -> assertEquals(productResponses, response)
 		);
-		verify(productRepository).findAll();
+		verify(productRepository).findByIdGreaterThanOrderByIdAsc(10L, Limit.of(50));
 		verify(productMapper).from(products);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void getProducts_Filtered_QueriesBySpecification() {
+		List<Product> products = List.of(new Product());
+		List<ProductResponse> productResponses = List.of(new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 0));
+		ProductPageRequest page = new ProductPageRequest(new BigDecimal("50.00"), null, null, ProductSort.PRICE, 7L, new BigDecimal("60.00"));
+
+		when(productRepository.findBy(any(Specification.class), any())).thenReturn(products);
+		when(productMapper.from(products)).thenReturn(productResponses);
+
+		List<ProductResponse> response = productService.getProducts(page, 20);
+
+		assertEquals(productResponses, response);
+		verify(productRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void getProducts_PriceSortAfterIdWithoutPrice_Throws() {
+		ProductPageRequest page = new ProductPageRequest(null, null, null, ProductSort.PRICE, 7L, null);
+
+		assertThrows(ConstraintViolationException.class, () -> productService.getProducts(page, 20));
+		verify(productRepository, never()).findBy(any(Specification.class), any());
+	}
+
+	@Test
+	void getProducts_Unfiltered_UsesIdKeysetQuery() {
+		List<Product> products = List.of(new Product());
+
+		when(productRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(50))).thenReturn(products);
+
+		productService.getProducts(ProductPageRequest.after(10L), 50);
+
+		verify(productRepository).findByIdGreaterThanOrderByIdAsc(10L, Limit.of(50));
+		verify(productMapper).from(products);
+	}
+
+	@Test
+	void searchProducts_EscapesLikeWildcardsInNamePrefix() {
+		List<Product> products = List.of(new Product());
+		List<ProductResponse> productResponses = List.of(new ProductResponse(1L, "50% off_sale", "Desc", new BigDecimal("100.00"), 0));
+
+		when(productRepository.search("50% off_sale", "50\\% off\\_sale%", 20, 40L)).thenReturn(products);
+		when(productMapper.from(products)).thenReturn(productResponses);
+
+		List<ProductResponse> response = productService.searchProducts(" 50% off_sale ", 40L, 20);
+
+		assertEquals(productResponses, response);
+		verify(productRepository).search("50% off_sale", "50\\% off\\_sale%", 20, 40L);
+	}
+
+	@Test
+	void streamProducts_PassesEachProductAndDetachesIt() {
+		Product first = new Product();
+		Product second = new Product();
+		ProductResponse firstResponse = new ProductResponse(1L, "First", "Desc", new BigDecimal("100.00"), 0);
+		ProductResponse secondResponse = new ProductResponse(2L, "Second", "Desc", new BigDecimal("150.00"), 0);
+
+		when(productRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(first, second));
+		when(productMapper.from(first)).thenReturn(firstResponse);
+		when(productMapper.from(second)).thenReturn(secondResponse);
+
+		List<ProductResponse> streamed = new ArrayList<>();
+		productService.streamProducts(streamed::add);
+
+		assertEquals(List.of(firstResponse, secondResponse), streamed);
+		verify(entityManager).detach(first);
+		verify(entityManager).detach(second);
+	}
+
+	@Test
+	void getProductsById_KeepsRequestOrderAndReportsMissingIds() {
+		Product first = Product.builder().id(9L).build();
+		Product second = Product.builder().id(2L).build();
+		ProductResponse firstResponse = new ProductResponse(9L, "Product 9", "Desc", new BigDecimal("100.00"), 0);
+		ProductResponse secondResponse = new ProductResponse(2L, "Product 2", "Desc", new BigDecimal("100.00"), 0);
+
+		when(productRepository.findAllById(List.of(9L, 5L, 2L))).thenReturn(List.of(second, first));
+		when(productMapper.from(first)).thenReturn(firstResponse);
+		when(productMapper.from(second)).thenReturn(secondResponse);
+
+		ProductsByIdResponse response = productService.getProductsById(List.of(9L, 5L, 9L, 2L));
+
+		assertAll(
+				() -> assertEquals(List.of(firstResponse, secondResponse), response.products()),
+				() -> assertEquals(List.of(5L), response.missingIds())
+		);
+	}
+
 	@Test
 	void getProductById_ExistingId_ReturnsProduct() throws Exception {
 		Long productId = 1L;
-		Product product = new Product();
-		ProductResponse productResponse = new ProductResponse(1L, "Product", "Desc", 100.0);
+		ProductResponse productResponse = new ProductResponse(1L, "Product", "Desc", new BigDecimal("100.00"), 0);
 
-		when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-		when(productMapper.from(product)).thenReturn(productResponse);
+		when(productLoader.load(productId)).thenReturn(Optional.of(productResponse));
 
 		ProductResponse response = productService.getProductById(productId);
 
@@ -65,26 +179,26 @@ class ProductServiceImplTest {
 				() -> assertNotNull(response),
 				() -> assertEquals(productResponse, response)
 		);
-		verify(productRepository).findById(productId);
-		verify(productMapper).from(product);
+		verify(productLoader).load(productId);
 	}
 
 	@Test
 	void getProductById_NonExistentId_ThrowsProductNotFoundException() {
 		Long productId = 1L;
 
-		when(productRepository.findById(productId)).thenReturn(Optional.empty());
+		when(productLoader.load(productId)).thenReturn(Optional.empty());
 
-		assertThrows(ProductNotFoundException.class, () -> productService.getProductById(productId));
-		verify(productRepository).findById(productId);
+		final var exception = assertThrows(ProductNotFoundException.class, () -> productService.getProductById(productId));
+		assertEquals(0, exception.getStackTrace().length);
+		verify(productLoader).load(productId);
 	}
 
 	@Test
 	void createProduct_SavesAndReturnsProduct() {
-		ProductRequest productRequest = new ProductRequest("Name", "Desc", 100.0);
+		ProductRequest productRequest = new ProductRequest("Name", "Desc", new BigDecimal("100.00"));
 		Product productToSave = new Product();
 		Product savedProduct = new Product();
-		ProductResponse productResponse = new ProductResponse(1L, "Name", "Desc", 100.0);
+		ProductResponse productResponse = new ProductResponse(1L, "Name", "Desc", new BigDecimal("100.00"), 0);
 
 		when(productMapper.to(productRequest)).thenReturn(productToSave);
 		when(productRepository.save(productToSave)).thenReturn(savedProduct);
@@ -101,28 +215,143 @@ class ProductServiceImplTest {
 		verify(productMapper).from(savedProduct);
 	}
 
+	@Test
+	void updateProduct_ExistingId_UpdatesWithoutLoading() throws Exception {
+		Long productId = 1L;
+		ProductRequest productRequest = new ProductRequest("Name", "Desc", new BigDecimal("120.00"));
+		Product updatedProduct = new Product();
+		ProductResponse productResponse = new ProductResponse(1L, "Name", "Desc", new BigDecimal("120.00"), 0);
+
+		when(productRepository.updateById(productId, "Name", "Desc", new BigDecimal("120.00"))).thenReturn(Optional.of(updatedProduct));
+		when(productMapper.from(updatedProduct)).thenReturn(productResponse);
+
+		ProductResponse response = productService.updateProduct(productId, productRequest);
+
+		assertEquals(productResponse, response);
+		verify(productRepository, never()).findById(any());
+		verify(productRepository, never()).save(any(Product.class));
+		verify(productLoader).invalidate(List.of(productId));
+		verify(entityManager.getEntityManagerFactory().getCache()).evict(Product.class, productId);
+	}
+
+	@Test
+	void updateProduct_NonExistentId_ThrowsProductNotFoundException() {
+		Long productId = 1L;
+		ProductRequest productRequest = new ProductRequest("Name", "Desc", new BigDecimal("120.00"));
+
+		when(productRepository.updateById(productId, "Name", "Desc", new BigDecimal("120.00"))).thenReturn(Optional.empty());
+
+		assertThrows(ProductNotFoundException.class, () -> productService.updateProduct(productId, productRequest));
+	}
+
+	@Test
+	void updateProduct_StaleVersion_ThrowsVersionMismatch() {
+		ProductRequest request = new ProductRequest("Updated", "Desc", new BigDecimal("200.00"));
+
+		when(productRepository.updateByIdAndVersion(1L, 2L, "Updated", "Desc", new BigDecimal("200.00"))).thenReturn(Optional.empty());
+		when(productRepository.existsById(1L)).thenReturn(true);
+
+		assertThrows(ProductVersionMismatchException.class, () -> productService.updateProduct(1L, request, 2L));
+	}
+
 	@Test
 	void deleteProduct_ExistingId_DeletesProduct() throws Exception {
 		Long productId = 1L;
-		Product product = new Product();
 
-		when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-		doNothing().when(productRepository).delete(product);
+		when(productRepository.deleteProductById(productId)).thenReturn(1);
 
 		productService.deleteProduct(productId);
 
-		verify(productRepository).findById(productId);
-		verify(productRepository).delete(product);
+		verify(productRepository).deleteProductById(productId);
+		verify(productRepository, never()).findById(any());
+		verify(productLoader).invalidate(List.of(productId));
+		verify(entityManager.getEntityManagerFactory().getCache()).evict(Product.class, productId);
 	}
 
 	@Test
 	void deleteProduct_NonExistentId_ThrowsProductNotFoundException() {
 		Long productId = 1L;
 
-		when(productRepository.findById(productId)).thenReturn(Optional.empty());
+		when(productRepository.deleteProductById(productId)).thenReturn(0);
 
 		assertThrows(ProductNotFoundException.class, () -> productService.deleteProduct(productId));
-		verify(productRepository).findById(productId);
-		verify(productRepository, never()).delete(any(Product.class));
+		verify(productRepository).deleteProductById(productId);
+	}
+
+	@Test
+	void createProducts_InvalidItem_ReportsErrorAndSavesTheRest() {
+		ProductRequest valid = new ProductRequest("Name", "Desc", new BigDecimal("100.00"));
+		ProductRequest invalid = new ProductRequest("", "Desc", new BigDecimal("-1.00"));
+		Product product = new Product();
+		List<ProductResponse> productResponses = List.of(new ProductResponse(1L, "Name", "Desc", new BigDecimal("100.00"), 0));
+
+		when(productMapper.to(valid)).thenReturn(product);
+		when(productRepository.saveAll(List.of(product))).thenReturn(List.of(product));
+		when(productMapper.from(List.of(product))).thenReturn(productResponses);
+
+		var response = productService.createProducts(Arrays.asList(valid, invalid, null));
+
+		assertAll(
+				() -> assertEquals(productResponses, response.succeeded()),
+				() -> assertEquals(List.of(1, 2), response.errors().stream().map(BatchItemError::index).toList()),
+				() -> assertEquals("item must not be null", response.errors().get(1).message())
+		);
+		verify(productRepository).saveAll(List.of(product));
+	}
+
+	@Test
+	void updateProducts_MissingId_ReportsNotFoundAndUpdatesTheRest() {
+		ProductRequest details = new ProductRequest("Name", "Desc", new BigDecimal("100.00"));
+		Product existing = Product.builder().id(1L).build();
+		List<ProductResponse> productResponses = List.of(new ProductResponse(1L, "Name", "Desc", new BigDecimal("100.00"), 0));
+
+		when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(existing));
+		when(productMapper.from(List.of(existing))).thenReturn(productResponses);
+
+		var response = productService.updateProducts(List.of(
+				new ProductBatchUpdateRequest(2L, details),
+				new ProductBatchUpdateRequest(1L, details)));
+
+		assertAll(
+				() -> assertEquals(productResponses, response.succeeded()),
+				() -> assertEquals(List.of(new BatchItemError(0, "Product not found")), response.errors())
+		);
+		verify(productMapper).updateEntity(existing, details);
+	}
+
+	@Test
+	void updateProducts_DuplicateId_AppliesFirstItemAndReportsTheRest() {
+		ProductRequest first = new ProductRequest("First", "Desc", new BigDecimal("100.00"));
+		ProductRequest second = new ProductRequest("Second", "Desc", new BigDecimal("150.00"));
+		Product existing = Product.builder().id(1L).build();
+		List<ProductResponse> productResponses = List.of(new ProductResponse(1L, "First", "Desc", new BigDecimal("100.00"), 0));
+
+		when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(existing));
+		when(productMapper.from(List.of(existing))).thenReturn(productResponses);
+
+		var response = productService.updateProducts(List.of(
+				new ProductBatchUpdateRequest(1L, first),
+				new ProductBatchUpdateRequest(1L, second)));
+
+		assertAll(
+				() -> assertEquals(productResponses, response.succeeded()),
+				() -> assertEquals(List.of(new BatchItemError(1, "Product id already updated by an earlier item of the batch")),
+						response.errors())
+		);
+		verify(productMapper).updateEntity(existing, first);
+		verify(productMapper, never()).updateEntity(existing, second);
+	}
+
+	@Test
+	void deleteProducts_MissingId_ReportsNotFoundAndDeletesTheRest() {
+		when(productRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+		var response = productService.deleteProducts(List.of(1L, 2L));
+
+		assertAll(
+				() -> assertEquals(List.of(1L), response.succeeded()),
+				() -> assertEquals(List.of(new BatchItemError(1, "Product not found")), response.errors())
+		);
+		verify(productRepository).deleteAllByIdInBatch(List.of(1L));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,242 @@
+package org.backend.developer.assignment.writebehind;
+
+import static org.backend.developer.assignment.api.dto.response.ProductUpdateStatus.APPLIED;
+import static org.backend.developer.assignment.api.dto.response.ProductUpdateStatus.NOT_FOUND;
+import static org.backend.developer.assignment.api.dto.response.ProductUpdateStatus.PENDING;
+import static org.backend.developer.assignment.api.dto.response.ProductUpdateStatus.SUPERSEDED;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.backend.developer.assignment.api.dto.request.ProductBatchUpdateRequest;
+import org.backend.developer.assignment.api.dto.request.ProductRequest;
+import org.backend.developer.assignment.api.dto.response.BatchItemError;
+import org.backend.developer.assignment.api.dto.response.BatchResponse;
+import org.backend.developer.assignment.api.dto.response.ProductUpdateTicket;
+import org.backend.developer.assignment.exception.ServiceOverloadedException;
+import org.backend.developer.assignment.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class ProductWriteBehindQueueTest {
+
+	private static final ProductRequest FIRST_PRICE = new ProductRequest("Product", "Some product", new BigDecimal("100.00"));
+	private static final ProductRequest SECOND_PRICE = new ProductRequest("Product", "Some product", new BigDecimal("90.00"));
+
+	@TempDir
+	private Path logDirectory;
+
+	private ProductService productService;
+	private AsyncTaskExecutor executor;
+	private ProductWriteBehindQueue queue;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		productService = mock(ProductService.class);
+		executor = mock(AsyncTaskExecutor.class);
+		when(productService.updateProducts(any())).thenReturn(new BatchResponse<>(List.of(), List.of()));
+		queue = newQueue(2);
+	}
+
+	@Test
+	void flush_RepeatedUpdates_WritesOnlyTheLatest() {
+		ProductUpdateTicket first = queue.accept(1L, FIRST_PRICE);
+		ProductUpdateTicket second = queue.accept(1L, SECOND_PRICE);
+
+		queue.flush();
+
+		verify(productService).updateProducts(List.of(new ProductBatchUpdateRequest(1L, SECOND_PRICE)));
+		assertAll(
+				() -> assertEquals(PENDING, second.status()),
+				() -> assertEquals(SUPERSEDED, queue.ticket(first.token()).orElseThrow().status()),
+				() -> assertEquals(APPLIED, queue.ticket(second.token()).orElseThrow().status()),
+				() -> assertEquals(0, queue.pendingUpdates())
+		);
+	}
+
+	@Test
+	void flush_MissingProduct_ReportsNotFound() {
+		when(productService.updateProducts(any()))
+				.thenReturn(new BatchResponse<>(List.of(), List.of(new BatchItemError(0, "Product not found"))));
+		ProductUpdateTicket ticket = queue.accept(1L, FIRST_PRICE);
+
+		queue.flush();
+
+		assertEquals(NOT_FOUND, queue.ticket(ticket.token()).orElseThrow().status());
+	}
+
+	@Test
+	void flush_BatchFails_KeepsUpdatesForNextFlush() {
+		when(productService.updateProducts(any())).thenThrow(new DataAccessResourceFailureException("down"));
+		ProductUpdateTicket ticket = queue.accept(1L, FIRST_PRICE);
+
+		queue.flush();
+
+		assertAll(
+				() -> assertEquals(1, queue.pendingUpdates()),
+				() -> assertEquals(PENDING, queue.ticket(ticket.token()).orElseThrow().status())
+		);
+	}
+
+	@Test
+	void flush_LoggingFailedUpdatesAgainFails_KeepsThemWaitingAndLogged() throws IOException {
+		FailingObjectMapper objectMapper = new FailingObjectMapper();
+		ProductWriteBehindQueue queue = newQueue(3, objectMapper);
+		when(productService.updateProducts(any())).thenThrow(new DataAccessResourceFailureException("down"));
+		List<ProductUpdateTicket> tickets = List.of(queue.accept(1L, FIRST_PRICE), queue.accept(2L, FIRST_PRICE),
+				queue.accept(3L, FIRST_PRICE));
+		objectMapper.failingProductId = 2L;
+
+		queue.flush();
+
+		assertAll(
+				() -> assertEquals(3, queue.pendingUpdates()),
+				() -> tickets.forEach(ticket -> assertEquals(PENDING, queue.ticket(ticket.token()).orElseThrow().status()))
+		);
+		assertEquals(3, newQueue(3).pendingUpdates(), "the rolled segment is kept");
+	}
+
+	@Test
+	void flush_LogRollFails_KeepsUpdatesWaiting() throws IOException {
+		ProductUpdateTicket ticket = queue.accept(1L, FIRST_PRICE);
+		// takes the name of the next segment
+		final var nextSegment = Files.createFile(logDirectory.resolve("updates-2.log"));
+
+		queue.flush();
+
+		verify(productService, never()).updateProducts(any());
+		assertAll(
+				() -> assertEquals(1, queue.pendingUpdates()),
+				() -> assertEquals(PENDING, queue.ticket(ticket.token()).orElseThrow().status())
+		);
+
+		Files.delete(nextSegment);
+		queue.flush();
+
+		assertEquals(APPLIED, queue.ticket(ticket.token()).orElseThrow().status());
+	}
+
+	@Test
+	void supersede_WaitingUpdate_IsDroppedAlsoAfterRestart() throws IOException {
+		ProductUpdateTicket ticket = queue.accept(1L, FIRST_PRICE);
+
+		queue.supersede(1L);
+
+		assertAll(
+				() -> assertEquals(0, queue.pendingUpdates()),
+				() -> assertEquals(SUPERSEDED, queue.ticket(ticket.token()).orElseThrow().status())
+		);
+
+		ProductWriteBehindQueue restarted = newQueue(2);
+		restarted.flush();
+
+		assertEquals(0, restarted.pendingUpdates());
+		verify(productService, never()).updateProducts(any());
+	}
+
+	@Test
+	void supersede_UpdateBeingWritten_WaitsForFlushAndDropsFailedUpdate() throws Exception {
+		final var writing = new CountDownLatch(1);
+		final var failWrite = new CountDownLatch(1);
+		when(productService.updateProducts(any())).thenAnswer(invocation -> {
+			writing.countDown();
+			failWrite.await();
+			throw new DataAccessResourceFailureException("down");
+		});
+		queue.accept(1L, FIRST_PRICE);
+		final var flush = CompletableFuture.runAsync(queue::flush);
+		assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+		final var supersede = CompletableFuture.runAsync(() -> queue.supersede(1L));
+		assertThrows(TimeoutException.class, () -> supersede.get(100, TimeUnit.MILLISECONDS),
+				"a synchronous update waits for the flush writing the product");
+
+		failWrite.countDown();
+		flush.get(5, TimeUnit.SECONDS);
+		supersede.get(5, TimeUnit.SECONDS);
+
+		assertEquals(0, queue.pendingUpdates(), "the failed update is not retried over the synchronous one");
+	}
+
+	@Test
+	void accept_BatchFull_RequestsFlush() {
+		queue.accept(1L, FIRST_PRICE);
+		verify(executor, never()).execute(any());
+
+		queue.accept(2L, FIRST_PRICE);
+
+		verify(executor).execute(any());
+	}
+
+	@Test
+	void accept_QueueFull_FailsFastUnlessProductIsWaiting() throws IOException {
+		queue = newQueue(1);
+		queue.accept(1L, FIRST_PRICE);
+
+		assertThrows(ServiceOverloadedException.class, () -> queue.accept(2L, FIRST_PRICE));
+		queue.accept(1L, SECOND_PRICE);
+	}
+
+	@Test
+	void newQueue_ReplaysUpdatesNotYetWritten() throws IOException {
+		queue.accept(1L, FIRST_PRICE);
+		ProductUpdateTicket ticket = queue.accept(1L, SECOND_PRICE);
+
+		// a new queue on the same log, as after a crash
+		ProductWriteBehindQueue restarted = newQueue(2);
+		restarted.flush();
+
+		verify(productService).updateProducts(List.of(new ProductBatchUpdateRequest(1L, SECOND_PRICE)));
+		assertEquals(APPLIED, restarted.ticket(ticket.token()).orElseThrow().status());
+	}
+
+	private ProductWriteBehindQueue newQueue(int maxPending) throws IOException {
+		return newQueue(maxPending, new ObjectMapper());
+	}
+
+	private ProductWriteBehindQueue newQueue(int maxPending, ObjectMapper objectMapper) throws IOException {
+		return new ProductWriteBehindQueue(productService, objectMapper, new WriteBehindProperties(true,
+				logDirectory, maxPending, 2, Duration.ofMillis(200), Duration.ofMinutes(10), Duration.ofSeconds(1)),
+				executor, new SimpleMeterRegistry());
+	}
+
+	/**
+	 * Fails to serialize the updates of one product, as a full disk fails to append them.
+	 */
+	private static final class FailingObjectMapper extends ObjectMapper {
+
+		private volatile long failingProductId = -1;
+
+		@Override
+		public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+			if (value instanceof PendingUpdate update && update.productId() == failingProductId) {
+				throw new JsonMappingException(null, "No space left on device");
+			}
+			return super.writeValueAsBytes(value);
+		}
+	}
+}
\ No newline at end of file